@@ -0,0 +1,60 @@
+package com.picura.employee.benchmark;
+
+import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.entity.Employee;
+import com.picura.employee.repository.EmployeeSearchIndexer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic employee fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private static final String[] NOMBRES = {"Juan Pérez", "María García", "José Núñez", "Ana López", "Luis Hernández"};
+    private static final String[] PUESTOS = {"Desarrollador Senior", "Analista", "Gerente", "Diseñador"};
+
+    private BenchmarkData() {
+    }
+
+    static Employee employee(int i) {
+        Employee employee = new Employee();
+        employee.setId(new UUID(0, i).toString());
+        employee.setNombre(NOMBRES[i % NOMBRES.length] + " " + i);
+        employee.setPuesto(PUESTOS[i % PUESTOS.length]);
+        employee.setSalario(30000 + (i * 37) % 50000);
+        employee.setFechaContratacion(LocalDate.of(2015, 1, 1).plusDays(i % 3000));
+        EmployeeSearchIndexer.apply(employee);
+        return employee;
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(i));
+        }
+        return employees;
+    }
+
+    static EmployeeDTO dto(int i) {
+        Employee employee = employee(i);
+        return EmployeeDTO.builder()
+                .id(employee.getId())
+                .nombre(employee.getNombre())
+                .puesto(employee.getPuesto())
+                .salario(employee.getSalario())
+                .fechaContratacion(employee.getFechaContratacion())
+                .build();
+    }
+
+    static List<EmployeeDTO> dtos(int count) {
+        List<EmployeeDTO> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(dto(i));
+        }
+        return dtos;
+    }
+}
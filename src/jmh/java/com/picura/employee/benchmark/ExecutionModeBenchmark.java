@@ -0,0 +1,72 @@
+package com.picura.employee.benchmark;
+
+import com.picura.employee.config.ExecutionMode;
+import com.picura.employee.config.ExecutionStrategy;
+import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.entity.Employee;
+import com.picura.employee.mapper.EmployeeMapper;
+import com.picura.employee.mapper.EmployeeMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what each {@link ExecutionMode} adds to a typical service call: a repository result mapped to a DTO.
+ * Run in both throughput and sample-time modes; the latter reports p0.99 per mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class ExecutionModeBenchmark {
+
+    @Param({"EVENT_LOOP", "BOUNDED", "VIRTUAL"})
+    private ExecutionMode mode;
+
+    private ExecutionStrategy strategy;
+    private EmployeeMapper mapper;
+    private Employee employee;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        strategy = ExecutionStrategy.create(mode, 2 * Runtime.getRuntime().availableProcessors(), 1000, new SimpleMeterRegistry());
+        mapper = new EmployeeMapperImpl();
+        employee = new Employee();
+        employee.setNombre("Juan Pérez");
+        employee.setPuesto("Desarrollador Senior");
+        employee.setSalario(50000);
+        employee.setFechaContratacion(LocalDate.of(2023, 1, 15));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        strategy.dispose();
+    }
+
+    @Benchmark
+    public EmployeeDTO getEmployee() {
+        return Mono.fromCallable(() -> employee)
+                .map(mapper::toDTO)
+                .transform(strategy::mono)
+                .block();
+    }
+}
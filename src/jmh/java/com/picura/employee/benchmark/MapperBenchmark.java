@@ -0,0 +1,59 @@
+package com.picura.employee.benchmark;
+
+import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.entity.Employee;
+import com.picura.employee.mapper.EmployeeMapper;
+import com.picura.employee.mapper.EmployeeMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the generated {@link EmployeeMapper} conversions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private EmployeeMapper mapper;
+    private Employee employee;
+    private EmployeeDTO dto;
+    private Employee target;
+
+    @Setup
+    public void setUp() {
+        mapper = new EmployeeMapperImpl();
+        employee = BenchmarkData.employee(1);
+        dto = BenchmarkData.dto(2);
+        target = BenchmarkData.employee(3);
+    }
+
+    @Benchmark
+    public EmployeeDTO toDTO() {
+        return mapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public Employee toEntity() {
+        return mapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public Employee updateEntityFromDTO() {
+        mapper.updateEntityFromDTO(dto, target);
+        return target;
+    }
+}
@@ -0,0 +1,140 @@
+package com.picura.employee.benchmark;
+
+import com.mongodb.WriteConcern;
+import com.picura.employee.config.AdaptiveConcurrencyLimiter;
+import com.picura.employee.config.ConcurrencyLimiters;
+import com.picura.employee.config.ExecutionMode;
+import com.picura.employee.config.ExecutionStrategy;
+import com.picura.employee.config.MicroBatcher;
+import com.picura.employee.config.OperationMetrics;
+import com.picura.employee.config.SingleFlight;
+import com.picura.employee.config.WriteCoalescer;
+import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.dto.SalaryExtremesDTO;
+import com.picura.employee.entity.Employee;
+import com.picura.employee.mapper.EmployeeMapperImpl;
+import com.picura.employee.repository.EmployeeProjection;
+import com.picura.employee.repository.EmployeeRepository;
+import com.picura.employee.repository.EmployeeUpdate;
+import com.picura.employee.service.EmployeeService;
+import com.picura.employee.service.SalaryRankIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmployeeService pipelines end to end with the repository stubbed by canned publishers,
+ * so only mapping, ranking and Reactor operator overhead is measured.
+ * Spring proxies are not involved, hence caching and Resilience4j annotations are not exercised.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicePipelineBenchmark {
+
+    private EmployeeService service;
+    private EmployeeDTO update;
+    private String employeeId;
+
+    @Setup
+    public void setUp() {
+        List<Employee> page = BenchmarkData.employees(20);
+        List<Employee> candidates = BenchmarkData.employees(200);
+        Employee employee = BenchmarkData.employee(7);
+        Map<String, Object> results = Map.of(
+                "findById", Mono.just(employee),
+                "findAllById", Flux.just(employee),
+                "findAllBy", Flux.fromIterable(page),
+                "findBySearchKeyStartingWith", Flux.fromIterable(candidates.subList(0, 20)),
+                "findBySearchTokensAll", Flux.fromIterable(candidates),
+                "findFirstByOrderBySalarioAsc", Mono.just(page.get(0)),
+                "findFirstByOrderBySalarioDesc", Mono.just(page.get(1)),
+                "updateAndGet", Mono.just(employee));
+        EmployeeRepository repository = (EmployeeRepository) Proxy.newProxyInstance(
+                EmployeeRepository.class.getClassLoader(),
+                new Class<?>[] {EmployeeRepository.class},
+                (proxy, method, args) -> {
+                    Object result = results.get(method.getName());
+                    if (result == null) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return result;
+                });
+        service = new EmployeeService(repository, new EmployeeMapperImpl(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new NoOpCacheManager(),
+                new SingleFlight(new SimpleMeterRegistry()),
+                new MicroBatcher<>("employee-by-id", new MicroBatcher.Settings(1, Duration.ZERO),
+                        repository::findAllById, Employee::getId, new SimpleMeterRegistry()),
+                new WriteCoalescer<>("employee-updates", new WriteCoalescer.Settings(1, Duration.ZERO, 1, Duration.ZERO),
+                        EmployeeUpdate::andThen, updates -> repository.bulkUpdate(updates, WriteConcern.ACKNOWLEDGED),
+                        Employee::getId, new SimpleMeterRegistry()),
+                new ConcurrencyLimiters(limiter("read"), limiter("write")),
+                ExecutionStrategy.create(ExecutionMode.EVENT_LOOP, 1, 1, new SimpleMeterRegistry()),
+                new OperationMetrics(new SimpleMeterRegistry()),
+                new SalaryRankIndex(repository, new SimpleMeterRegistry(), 1000));
+        ReflectionTestUtils.setField(service, "searchMaxCandidates", 1000);
+        update = BenchmarkData.dto(8);
+        employeeId = employee.getId();
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(String name) {
+        return new AdaptiveConcurrencyLimiter(name, AdaptiveConcurrencyLimiter.Settings.builder()
+                .initialLimit(1000)
+                .minLimit(1000)
+                .maxLimit(1000)
+                .maxQueue(1000)
+                .queueTimeout(Duration.ofSeconds(1))
+                .backoffRatio(0.9)
+                .latencyTolerance(2.0)
+                .baselineSamples(500)
+                .build(), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public EmployeeDTO getEmployeeById() {
+        return service.getEmployeeById(employeeId).block();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> getAllEmployees() {
+        return service.getAllEmployees(PageRequest.of(0, 20), EmployeeProjection.ALL).collectList().block();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> searchEmployees() {
+        return service.searchEmployees("jose", 20, EmployeeProjection.ALL).collectList().block();
+    }
+
+    @Benchmark
+    public SalaryExtremesDTO getEmployeesWithMinMaxSalary() {
+        return service.getEmployeesWithMinMaxSalary().block();
+    }
+
+    @Benchmark
+    public EmployeeDTO updateEmployee() {
+        return service.updateEmployee("id", update, null).block();
+    }
+}
@@ -0,0 +1,194 @@
+package com.picura.employee.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.picura.employee.EmployeeApplication;
+import com.picura.employee.entity.Employee;
+import com.picura.employee.repository.EmployeeRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the running application at a fixed arrival rate with a configurable mix of operations and
+ * reports HdrHistogram latency percentiles and throughput per operation as JSON.
+ * The application is booted against an in-process Mongo stand-in, so no external services are needed.
+ * The stand-in does not use secondary indexes, so its numbers are meant for comparing builds with each other;
+ * set load.mongo-uri to run against a real MongoDB instead.
+ * Other settings are system properties: load.rate (requests per second), load.duration, load.warmup,
+ * load.timeout (per request), load.employees (seeded roster size), load.mix (e.g. read=70,write=10,search=15,top_earners=5)
+ * and load.output (JSON report file).
+ */
+@Tag("load")
+class EmployeeLoadTest {
+
+	private static MongoServer mongoServer;
+	private static ConfigurableApplicationContext context;
+	private static List<String> ids;
+
+	@BeforeAll
+	static void startApplication() {
+		String mongoUri = System.getProperty("load.mongo-uri");
+		if (mongoUri == null) {
+			mongoServer = new MongoServer(new MemoryBackend());
+			InetSocketAddress address = mongoServer.bind();
+			mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort();
+		}
+		// Passed as arguments rather than default properties so that they take precedence over application.yml
+		context = new SpringApplicationBuilder(EmployeeApplication.class).run(
+				"--server.port=0",
+				"--spring.data.mongodb.uri=" + mongoUri,
+				"--spring.data.mongodb.database=loadtest",
+				"--logging.level.root=WARN",
+				"--logging.level.com.picura=" + System.getProperty("load.log-level", "WARN"),
+				"--logging.level.org.mongodb=WARN",
+				"--logging.level.org.springframework.data.mongodb=WARN");
+		int employees = Integer.getInteger("load.employees", 1_000);
+		List<Employee> seed = new ArrayList<>(employees);
+		for (int i = 0; i < employees; i++) {
+			seed.add(LoadData.employee(i));
+		}
+		context.getBean(EmployeeRepository.class).saveAll(seed).then().block(Duration.ofMinutes(5));
+		ids = seed.stream().map(Employee::getId).toList();
+	}
+
+	@AfterAll
+	static void stopApplication() {
+		if (context != null) {
+			context.close();
+		}
+		if (mongoServer != null) {
+			mongoServer.shutdownNow();
+		}
+	}
+
+	@Test
+	void fixedArrivalRateMix() throws Exception {
+		int rate = Integer.getInteger("load.rate", 50);
+		Duration timeout = DurationStyle.detectAndParse(System.getProperty("load.timeout", "10s"));
+		Duration warmup = DurationStyle.detectAndParse(System.getProperty("load.warmup", "5s"));
+		Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+		Map<LoadOperation, Integer> mix = parseMix(System.getProperty("load.mix", "read=70,write=10,search=15,top_earners=5"));
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+		ConnectionProvider connections = ConnectionProvider.builder("loadtest")
+				.maxConnections(1000)
+				.pendingAcquireMaxCount(-1)
+				.build();
+		WebClient client = WebClient.builder()
+				.baseUrl("http://localhost:" + port)
+				.clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+				.build();
+
+		LoadReport report = new LoadReport();
+		AtomicLong inFlight = new AtomicLong();
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+		long start = System.nanoTime();
+		long measureFrom = start + warmup.toNanos();
+		long end = measureFrom + duration.toNanos();
+		for (long i = 0; ; i++) {
+			long intendedStart = start + i * intervalNanos;
+			if (intendedStart >= end) {
+				break;
+			}
+			long wait = intendedStart - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			LoadOperation operation = pick(mix);
+			boolean measured = intendedStart >= measureFrom;
+			inFlight.incrementAndGet();
+			operation.request(client, ids)
+					.timeout(timeout)
+					.doFinally(signal -> inFlight.decrementAndGet())
+					.subscribe(
+							null,
+							error -> {
+								if (measured) {
+									report.recordError(operation, error);
+								}
+							},
+							() -> {
+								if (measured) {
+									report.recordSuccess(operation, intendedStart);
+								}
+							});
+		}
+		long drainDeadline = System.nanoTime() + timeout.toNanos();
+		while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+			Thread.sleep(10);
+		}
+		connections.dispose();
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("timestamp", Instant.now().toString());
+		result.put("rate", rate);
+		result.put("warmupSeconds", warmup.toSeconds());
+		result.put("durationSeconds", duration.toSeconds());
+		result.put("timeoutSeconds", timeout.toSeconds());
+		result.put("employees", ids.size());
+		Map<String, Integer> mixByName = new LinkedHashMap<>();
+		mix.forEach((operation, weight) -> mixByName.put(operation.name().toLowerCase(), weight));
+		result.put("mix", mixByName);
+		result.put("unfinished", inFlight.get());
+		Map<String, Object> operations = report.summary(duration.toNanos() / 1e9);
+		result.put("operations", operations);
+		ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+		String json = objectMapper.writeValueAsString(result);
+		System.out.println(json);
+		File output = new File(System.getProperty("load.output", "target/loadtest/results.json"));
+		output.getParentFile().mkdirs();
+		objectMapper.writeValue(output, result);
+
+		assertThat(operations).isNotEmpty();
+	}
+
+	private static Map<LoadOperation, Integer> parseMix(String mix) {
+		Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.trim().split("=");
+			weights.put(LoadOperation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+		}
+		return weights;
+	}
+
+	private static LoadOperation pick(Map<LoadOperation, Integer> mix) {
+		int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+		int ticket = ThreadLocalRandom.current().nextInt(total);
+		for (Map.Entry<LoadOperation, Integer> entry : mix.entrySet()) {
+			ticket -= entry.getValue();
+			if (ticket < 0) {
+				return entry.getKey();
+			}
+		}
+		throw new IllegalStateException("Empty load mix");
+	}
+}
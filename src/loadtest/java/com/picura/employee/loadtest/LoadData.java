@@ -0,0 +1,42 @@
+package com.picura.employee.loadtest;
+
+import com.picura.employee.entity.Employee;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Deterministic employee data for seeding and generated requests.
+ */
+final class LoadData {
+
+    private static final String[] NOMBRES = {"Juan", "María", "José", "Ana", "Luis", "Lucía", "Carlos", "Sofía"};
+    private static final String[] APELLIDOS = {"Pérez", "García", "Núñez", "López", "Hernández", "Martínez", "Gómez"};
+    private static final String[] PUESTOS = {"Desarrollador Senior", "Analista", "Gerente", "Diseñador", "Soporte"};
+
+    private LoadData() {
+    }
+
+    static Employee employee(int i) {
+        Employee employee = new Employee();
+        employee.setId(new UUID(0, i).toString());
+        employee.setNombre(nombre(i));
+        employee.setPuesto(puesto(i));
+        employee.setSalario(20000 + (i * 7919L) % 80000);
+        employee.setFechaContratacion(LocalDate.of(2015, 1, 1).plusDays(i % 3000));
+        return employee;
+    }
+
+    static String nombre(int i) {
+        return NOMBRES[i % NOMBRES.length] + " " + APELLIDOS[(i / NOMBRES.length) % APELLIDOS.length] + " " + i;
+    }
+
+    static String puesto(int i) {
+        return PUESTOS[i % PUESTOS.length];
+    }
+
+    static String searchTerm(int i) {
+        String apellido = APELLIDOS[i % APELLIDOS.length];
+        return apellido.substring(0, 3 + i % (apellido.length() - 2));
+    }
+}
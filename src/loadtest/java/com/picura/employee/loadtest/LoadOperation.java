@@ -0,0 +1,69 @@
+package com.picura.employee.loadtest;
+
+import com.picura.employee.dto.EmployeeDTO;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Requests issued by the load generator, one per endpoint under test.
+ */
+enum LoadOperation {
+
+    READ {
+        @Override
+        Mono<Void> request(WebClient client, List<String> ids) {
+            String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            return client.get().uri("/api/v1/employees/{id}", id).retrieve().toBodilessEntity().then();
+        }
+    },
+
+    WRITE {
+        @Override
+        Mono<Void> request(WebClient client, List<String> ids) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            EmployeeDTO employee = EmployeeDTO.builder()
+                    .nombre(LoadData.nombre(random.nextInt(1_000_000)))
+                    .puesto(LoadData.puesto(random.nextInt(100)))
+                    .salario(20000.0 + random.nextInt(80000))
+                    .fechaContratacion(LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3000)))
+                    .build();
+            return client.post().uri("/api/v1/employees")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(employee)
+                    .retrieve().toBodilessEntity().then();
+        }
+    },
+
+    SEARCH {
+        @Override
+        Mono<Void> request(WebClient client, List<String> ids) {
+            String query = LoadData.searchTerm(ThreadLocalRandom.current().nextInt(1_000_000));
+            return client.get().uri(builder -> builder.path("/api/v1/employees/search")
+                            .queryParam("query", query)
+                            .queryParam("limit", 20)
+                            .build())
+                    .retrieve().toBodilessEntity().then();
+        }
+    },
+
+    TOP_EARNERS {
+        @Override
+        Mono<Void> request(WebClient client, List<String> ids) {
+            return client.get().uri("/api/v1/employees/top-earners?limit=10").retrieve().toBodilessEntity().then();
+        }
+    };
+
+    /**
+     * Issues one request against a random target.
+     *
+     * @param client Client bound to the application under test
+     * @param ids Ids of the seeded employees
+     * @return A Mono completing when the response has been fully received, or failing on error statuses
+     */
+    abstract Mono<Void> request(WebClient client, List<String> ids);
+}
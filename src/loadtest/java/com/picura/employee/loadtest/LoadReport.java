@@ -0,0 +1,82 @@
+package com.picura.employee.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histograms and error counts per operation, recorded in microseconds.
+ * Latency is measured from the intended send time of each request, so a stalled server is charged
+ * for the requests that queued up behind it (no coordinated omission).
+ */
+final class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<LoadOperation, Recorder> recorders = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, AtomicLong> errors = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, String> firstErrors = new ConcurrentHashMap<>();
+
+    LoadReport() {
+        for (LoadOperation operation : LoadOperation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    void recordSuccess(LoadOperation operation, long intendedStartNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+        recorders.get(operation).recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordError(LoadOperation operation, Throwable error) {
+        errors.get(operation).incrementAndGet();
+        firstErrors.putIfAbsent(operation, error.toString());
+    }
+
+    /**
+     * Summarizes every operation that received traffic.
+     *
+     * @param measuredSeconds Length of the measured window
+     * @return Per-operation count, errors, throughput and latency percentiles in milliseconds
+     */
+    Map<String, Object> summary(double measuredSeconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        recorders.forEach((operation, recorder) -> {
+            Histogram histogram = recorder.getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            long errorCount = errors.get(operation).get();
+            if (count == 0 && errorCount == 0) {
+                return;
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", count);
+            stats.put("errors", errorCount);
+            stats.put("throughputPerSecond", round(count / measuredSeconds));
+            stats.put("meanMs", millis(histogram.getMean()));
+            stats.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            stats.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            stats.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            stats.put("maxMs", millis(histogram.getMaxValue()));
+            if (firstErrors.containsKey(operation)) {
+                stats.put("firstError", firstErrors.get(operation));
+            }
+            summary.put(operation.name().toLowerCase(), stats);
+        });
+        return summary;
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,294 @@
+package com.picura.employee.config;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoSocketReadTimeoutException;
+import com.mongodb.MongoTimeoutException;
+import com.picura.employee.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Builder;
+import lombok.Getter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Concurrency limiter whose limit follows the observed latency of the calls it admits, AIMD style.
+ * Every completed call is a sample of its latency, measured up to the first element for a Flux, since a long
+ * stream holds its permit for as long as the client reads it. Samples feed a short-term average over about ten
+ * calls and a long-term baseline over about {@code baselineSamples} calls: the limit grows by one when the
+ * limiter is at least half used and the short-term average is within {@code latencyTolerance} times the baseline,
+ * and shrinks by {@code backoffRatio} when it is above it or a call timed out. Comparing averages of the same mix
+ * of calls keeps a stable mix of point lookups and longer listings from reading as congestion, and a permanently
+ * slower backend becomes the new baseline.
+ * Calls over the limit wait in a bounded FIFO queue until a permit frees up or their deadline passes;
+ * calls that cannot be queued or time out in the queue fail with {@link ServiceOverloadedException}.
+ * Publishes employee.limiter.limit, employee.limiter.inflight and employee.limiter.queued gauges,
+ * the employee.limiter.wait timer and the employee.limiter.rejected counter, tagged by limiter name.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    static final String METRIC_NAME = "employee.limiter";
+    private static final int SHORT_TERM_SAMPLES = 10;
+
+    private final String name;
+    private final Settings settings;
+    private final Deque<Waiter> queue = new ArrayDeque<>();
+    private final Timer waitTimer;
+    private final Counter queueFullRejections;
+    private final Counter deadlineRejections;
+
+    // Written under the lock of this limiter, volatile for the gauges
+    @Getter
+    private volatile double limit;
+    @Getter
+    private volatile int inFlight;
+    private long samples;
+    private double shortLatencyNanos;
+    private double baselineLatencyNanos;
+
+    /**
+     * Limits of one limiter.
+     */
+    @Builder
+    public record Settings(int initialLimit, int minLimit, int maxLimit, int maxQueue, Duration queueTimeout,
+                           double backoffRatio, double latencyTolerance, int baselineSamples) {
+    }
+
+    public AdaptiveConcurrencyLimiter(String name, Settings settings, MeterRegistry meterRegistry) {
+        if (settings.minLimit() < 1 || settings.minLimit() > settings.initialLimit() || settings.initialLimit() > settings.maxLimit()) {
+            throw new IllegalArgumentException("The " + name + " limits must satisfy 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        if (settings.baselineSamples() < 1) {
+            throw new IllegalArgumentException("The " + name + " baseline-samples must be at least 1");
+        }
+        this.name = name;
+        this.settings = settings;
+        this.limit = settings.initialLimit();
+        Gauge.builder(METRIC_NAME + ".limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current concurrency limit").tag("limiter", name).register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls holding a permit").tag("limiter", name).register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".queued", this, AdaptiveConcurrencyLimiter::getQueued)
+                .description("Calls waiting for a permit").tag("limiter", name).register(meterRegistry);
+        this.waitTimer = Timer.builder(METRIC_NAME + ".wait")
+                .description("Time spent waiting for a permit")
+                .tag("limiter", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueFullRejections = rejections("queue_full", meterRegistry);
+        this.deadlineRejections = rejections("deadline", meterRegistry);
+    }
+
+    private Counter rejections(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_NAME + ".rejected")
+                .description("Calls rejected by the limiter")
+                .tag("limiter", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a Mono under a permit of this limiter.
+     *
+     * @param source The pipeline to limit
+     * @return The limited pipeline
+     */
+    public <T> Mono<T> mono(Mono<T> source) {
+        return Mono.usingWhen(acquire(), permit -> source,
+                permit -> permit.release(null),
+                (permit, error) -> permit.release(error),
+                permit -> permit.cancel());
+    }
+
+    /**
+     * Runs a Flux under a permit of this limiter, held until the Flux terminates.
+     *
+     * @param source The pipeline to limit
+     * @return The limited pipeline
+     */
+    public <T> Flux<T> flux(Flux<T> source) {
+        return Flux.usingWhen(acquire(), permit -> source.doOnNext(value -> permit.responded()),
+                permit -> permit.release(null),
+                (permit, error) -> permit.release(error),
+                permit -> permit.cancel());
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            long requested = System.nanoTime();
+            Waiter waiter;
+            synchronized (this) {
+                if (inFlight < (int) limit && queue.isEmpty()) {
+                    inFlight++;
+                    sink.success(new Permit(requested));
+                    return;
+                }
+                if (queue.size() >= settings.maxQueue()) {
+                    queueFullRejections.increment();
+                    sink.error(new ServiceOverloadedException("Too many concurrent " + name + " requests"));
+                    return;
+                }
+                waiter = new Waiter(sink, requested);
+                queue.addLast(waiter);
+            }
+            Disposable deadline = Schedulers.parallel().schedule(() -> expire(waiter),
+                    settings.queueTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            sink.onDispose(deadline::dispose);
+            sink.onCancel(() -> {
+                Permit granted;
+                synchronized (this) {
+                    if (waiter.done.compareAndSet(false, true)) {
+                        queue.remove(waiter);
+                        return;
+                    }
+                    // Set together with done by drain, so a call handed a permit always finds it here
+                    granted = waiter.permit;
+                }
+                if (granted != null) {
+                    // Cancelled while the permit was being handed over
+                    granted.finish(SignalType.CANCEL, null);
+                }
+            });
+        });
+    }
+
+    private void expire(Waiter waiter) {
+        if (waiter.done.compareAndSet(false, true)) {
+            synchronized (this) {
+                queue.remove(waiter);
+            }
+            deadlineRejections.increment();
+            waitTimer.record(System.nanoTime() - waiter.requested, TimeUnit.NANOSECONDS);
+            waiter.sink.error(new ServiceOverloadedException("Timed out waiting to run a " + name + " request"));
+        }
+    }
+
+    /**
+     * Hands free permits to queued calls, oldest first.
+     */
+    private void drain() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                if (inFlight >= (int) limit || queue.isEmpty()) {
+                    return;
+                }
+                next = queue.pollFirst();
+                if (!next.done.compareAndSet(false, true)) {
+                    continue;
+                }
+                inFlight++;
+                next.permit = new Permit(System.nanoTime());
+            }
+            waitTimer.record(next.permit.start - next.requested, TimeUnit.NANOSECONDS);
+            next.sink.success(next.permit);
+        }
+    }
+
+    synchronized void onSample(long latencyNanos, boolean dropped) {
+        samples++;
+        shortLatencyNanos += (latencyNanos - shortLatencyNanos) * weight(SHORT_TERM_SAMPLES);
+        baselineLatencyNanos += (latencyNanos - baselineLatencyNanos) * weight(settings.baselineSamples());
+        boolean slow = shortLatencyNanos > baselineLatencyNanos * settings.latencyTolerance();
+        if (dropped || slow) {
+            limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(settings.maxLimit(), limit + 1);
+        }
+    }
+
+    /**
+     * Weight of a new sample in an exponential moving average over about the given number of samples,
+     * falling back to the plain mean until that many samples were seen so that early samples are not overweighted.
+     */
+    private double weight(int averagedSamples) {
+        return Math.max(2.0 / (averagedSamples + 1), 1.0 / samples);
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof MongoTimeoutException
+                    || cause instanceof MongoExecutionTimeoutException || cause instanceof MongoSocketReadTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A queued call.
+     */
+    private static final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private final long requested;
+        private final AtomicBoolean done = new AtomicBoolean();
+        // Guarded by the lock of the limiter
+        private Permit permit;
+
+        private Waiter(MonoSink<Permit> sink, long requested) {
+            this.sink = sink;
+            this.requested = requested;
+        }
+    }
+
+    /**
+     * A permit held by one call; released exactly once.
+     */
+    private final class Permit {
+
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+        // Only written by the serialized signals of the limited Flux
+        private volatile long respondedAt;
+
+        private Permit(long start) {
+            this.start = start;
+        }
+
+        private void responded() {
+            if (respondedAt == 0) {
+                respondedAt = System.nanoTime();
+            }
+        }
+
+        private Mono<Void> release(Throwable error) {
+            return Mono.fromRunnable(() -> finish(error == null ? SignalType.ON_COMPLETE : SignalType.ON_ERROR, error));
+        }
+
+        private Mono<Void> cancel() {
+            return Mono.fromRunnable(() -> finish(SignalType.CANCEL, null));
+        }
+
+        private void finish(SignalType signal, Throwable error) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                inFlight--;
+            }
+            // Cancelled calls say nothing about the backend latency
+            if (signal != SignalType.CANCEL) {
+                onSample((respondedAt != 0 ? respondedAt : System.nanoTime()) - start, error != null && isTimeout(error));
+            }
+            drain();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.picura.employee.config;
+
+import com.mongodb.WriteConcern;
+import com.picura.employee.entity.Employee;
+import com.picura.employee.repository.EmployeeRepository;
+import com.picura.employee.repository.EmployeeUpdate;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class BatchingConfig {
+
+    @Value("${picura.batching.employee-by-id.max-batch-size:100}")
+    private int employeeByIdMaxBatchSize;
+
+    @Value("${picura.batching.employee-by-id.window:2ms}")
+    private Duration employeeByIdWindow;
+
+    @Value("${picura.write-behind.max-batch-size:500}")
+    private int writeBehindMaxBatchSize;
+
+    @Value("${picura.write-behind.max-delay:50ms}")
+    private Duration writeBehindMaxDelay;
+
+    @Value("${picura.write-behind.capacity:10000}")
+    private int writeBehindCapacity;
+
+    @Value("${picura.write-behind.drain-timeout:10s}")
+    private Duration writeBehindDrainTimeout;
+
+    @Value("${picura.write-behind.write-concern:ACKNOWLEDGED}")
+    private String writeBehindWriteConcern;
+
+    /**
+     * Batches single employee lookups into one {@code _id: { $in: [...] }} query.
+     *
+     * @param employeeRepository The repository resolving the batches
+     * @param meterRegistry The registry for the batcher metrics
+     * @return The batcher keyed by employee id
+     */
+    @Bean
+    public MicroBatcher<String, Employee> employeeByIdBatcher(EmployeeRepository employeeRepository, MeterRegistry meterRegistry) {
+        MicroBatcher.Settings settings = new MicroBatcher.Settings(employeeByIdMaxBatchSize, employeeByIdWindow);
+        return new MicroBatcher<>("employee-by-id", settings, employeeRepository::findAllById, Employee::getId, meterRegistry);
+    }
+
+    /**
+     * Queues unconditional employee updates and writes them with one bulk write per flush.
+     * Only used when {@code picura.write-behind.enabled} is set; the queue is drained when the context closes.
+     *
+     * @param employeeRepository The repository writing the batches
+     * @param meterRegistry The registry for the queue metrics
+     * @return The write-behind queue keyed by employee id
+     */
+    @Bean(destroyMethod = "close")
+    public WriteCoalescer<String, EmployeeUpdate, Employee> employeeWriteBehind(EmployeeRepository employeeRepository,
+                                                                                MeterRegistry meterRegistry) {
+        WriteConcern writeConcern = WriteConcern.valueOf(writeBehindWriteConcern);
+        if (writeConcern == null) {
+            throw new IllegalArgumentException("Unknown picura.write-behind.write-concern: " + writeBehindWriteConcern);
+        }
+        WriteCoalescer.Settings settings = new WriteCoalescer.Settings(writeBehindMaxBatchSize, writeBehindMaxDelay,
+                writeBehindCapacity, writeBehindDrainTimeout);
+        return new WriteCoalescer<>("employee-updates", settings, EmployeeUpdate::andThen,
+                updates -> employeeRepository.bulkUpdate(updates, writeConcern), Employee::getId, meterRegistry);
+    }
+}
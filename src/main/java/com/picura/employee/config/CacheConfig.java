@@ -0,0 +1,55 @@
+package com.picura.employee.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process cache configuration.
+ * Caches run in Caffeine's async mode so that {@code @Cacheable} methods returning Mono or Flux
+ * store the resolved values instead of the publishers. Hit, miss and eviction statistics are
+ * recorded and published through Micrometer under the {@code cache.*} meters.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EMPLOYEE_CACHE = "employeeCache";
+    public static final String EMPLOYEES_CACHE = "employeesCache";
+
+    @Value("${picura.cache.employee.maximum-size:10000}")
+    private long employeeMaximumSize;
+
+    @Value("${picura.cache.employee.ttl:10m}")
+    private Duration employeeTtl;
+
+    @Value("${picura.cache.employees.maximum-size:500}")
+    private long employeesMaximumSize;
+
+    @Value("${picura.cache.employees.ttl:30s}")
+    private Duration employeesTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(EMPLOYEE_CACHE, Caffeine.newBuilder()
+                .maximumSize(employeeMaximumSize)
+                .expireAfterWrite(employeeTtl)
+                .recordStats()
+                .buildAsync());
+        cacheManager.registerCustomCache(EMPLOYEES_CACHE, Caffeine.newBuilder()
+                .maximumSize(employeesMaximumSize)
+                .expireAfterWrite(employeesTtl)
+                .recordStats()
+                .buildAsync());
+        return cacheManager;
+    }
+}
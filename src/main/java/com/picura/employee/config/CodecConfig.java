@@ -0,0 +1,40 @@
+package com.picura.employee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.util.MimeType;
+
+/**
+ * Binary encodings negotiated alongside JSON.
+ * {@code application/cbor} and {@code application/x-jackson-smile} (plus {@code application/stream+x-jackson-smile}
+ * for streams) are served with copies of the application's ObjectMapper, so dates and null handling match the
+ * JSON responses. The copies get their own binary factory; the JSON mapper itself is left untouched.
+ * Every binary codec is given its media types explicitly, since the codec constructors otherwise default to JSON's.
+ */
+@Configuration
+public class CodecConfig {
+
+    private static final MimeType[] SMILE_MIME_TYPES = {
+        new MimeType("application", "x-jackson-smile"),
+        new MimeType("application", "*+x-jackson-smile")
+    };
+
+    @Bean
+    public CodecCustomizer binaryCodecCustomizer(ObjectMapper objectMapper) {
+        ObjectMapper cborMapper = objectMapper.copyWith(new CBORFactory());
+        ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new SmileArrayEncoder(smileMapper, SMILE_MIME_TYPES));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE_MIME_TYPES));
+            configurer.customCodecs().register(new StreamingCborEncoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.picura.employee.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Value("${picura.limits.read.initial-limit:20}")
+    private int readInitialLimit;
+
+    @Value("${picura.limits.read.min-limit:4}")
+    private int readMinLimit;
+
+    @Value("${picura.limits.read.max-limit:200}")
+    private int readMaxLimit;
+
+    @Value("${picura.limits.read.max-queue:200}")
+    private int readMaxQueue;
+
+    @Value("${picura.limits.read.queue-timeout:500ms}")
+    private Duration readQueueTimeout;
+
+    @Value("${picura.limits.write.initial-limit:10}")
+    private int writeInitialLimit;
+
+    @Value("${picura.limits.write.min-limit:2}")
+    private int writeMinLimit;
+
+    @Value("${picura.limits.write.max-limit:100}")
+    private int writeMaxLimit;
+
+    @Value("${picura.limits.write.max-queue:100}")
+    private int writeMaxQueue;
+
+    @Value("${picura.limits.write.queue-timeout:1s}")
+    private Duration writeQueueTimeout;
+
+    @Value("${picura.limits.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${picura.limits.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${picura.limits.baseline-samples:500}")
+    private int baselineSamples;
+
+    @Bean
+    public ConcurrencyLimiters concurrencyLimiters(MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter.Settings reads = AdaptiveConcurrencyLimiter.Settings.builder()
+                .initialLimit(readInitialLimit)
+                .minLimit(readMinLimit)
+                .maxLimit(readMaxLimit)
+                .maxQueue(readMaxQueue)
+                .queueTimeout(readQueueTimeout)
+                .backoffRatio(backoffRatio)
+                .latencyTolerance(latencyTolerance)
+                .baselineSamples(baselineSamples)
+                .build();
+        AdaptiveConcurrencyLimiter.Settings writes = AdaptiveConcurrencyLimiter.Settings.builder()
+                .initialLimit(writeInitialLimit)
+                .minLimit(writeMinLimit)
+                .maxLimit(writeMaxLimit)
+                .maxQueue(writeMaxQueue)
+                .queueTimeout(writeQueueTimeout)
+                .backoffRatio(backoffRatio)
+                .latencyTolerance(latencyTolerance)
+                .baselineSamples(baselineSamples)
+                .build();
+        return new ConcurrencyLimiters(
+                new AdaptiveConcurrencyLimiter("read", reads, meterRegistry),
+                new AdaptiveConcurrencyLimiter("write", writes, meterRegistry));
+    }
+}
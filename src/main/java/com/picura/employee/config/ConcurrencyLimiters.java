@@ -0,0 +1,11 @@
+package com.picura.employee.config;
+
+/**
+ * The adaptive concurrency limiters of the employee service. Reads and writes are limited separately,
+ * so a burst of slow writes cannot starve reads and the other way around.
+ *
+ * @param reads Limiter for queries
+ * @param writes Limiter for inserts, updates and deletes
+ */
+public record ConcurrencyLimiters(AdaptiveConcurrencyLimiter reads, AdaptiveConcurrencyLimiter writes) {
+}
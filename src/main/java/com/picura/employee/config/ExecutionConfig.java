@@ -0,0 +1,28 @@
+package com.picura.employee.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class ExecutionConfig {
+
+    @Value("${picura.execution.mode:event-loop}")
+    private ExecutionMode mode;
+
+    @Value("${picura.execution.bounded.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors() * 2}}")
+    private int threads;
+
+    @Value("${picura.execution.bounded.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "dispose")
+    public ExecutionStrategy executionStrategy(MeterRegistry meterRegistry) {
+        ExecutionStrategy strategy = ExecutionStrategy.create(mode, threads, queueCapacity, meterRegistry);
+        log.info("Employee service execution mode: {}", strategy.getMode());
+        return strategy;
+    }
+}
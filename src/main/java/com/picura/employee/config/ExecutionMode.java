@@ -0,0 +1,24 @@
+package com.picura.employee.config;
+
+/**
+ * Where the employee service runs the pipelines it returns.
+ */
+public enum ExecutionMode {
+
+    /**
+     * Run on the caller's thread, normally the Netty event loop. The reactive driver never blocks,
+     * so this avoids any thread hand-off.
+     */
+    EVENT_LOOP,
+
+    /**
+     * Subscribe on a dedicated fixed-size pool with a bounded queue.
+     */
+    BOUNDED,
+
+    /**
+     * Subscribe on a virtual thread per task, for pipelines with genuinely blocking steps.
+     * Requires Java 21; on older runtimes it falls back to {@link #BOUNDED}.
+     */
+    VIRTUAL
+}
@@ -0,0 +1,121 @@
+package com.picura.employee.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies the configured {@link ExecutionMode} to service pipelines.
+ * Pooled modes subscribe on a scheduler backed by an executor instrumented with {@link ExecutorServiceMetrics},
+ * which publishes executor.active, executor.queued, executor.pool.size and task timings under the name
+ * "employee.execution".
+ */
+@Slf4j
+public final class ExecutionStrategy implements Disposable {
+
+    static final String METRIC_NAME = "employee.execution";
+
+    @Getter
+    private final ExecutionMode mode;
+    private final Scheduler scheduler;
+
+    private ExecutionStrategy(ExecutionMode mode, Scheduler scheduler) {
+        this.mode = mode;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Creates the strategy for a mode.
+     *
+     * @param mode The requested execution mode
+     * @param threads Number of threads of the bounded pool
+     * @param queueCapacity Maximum number of tasks waiting for a bounded pool thread
+     * @param meterRegistry Registry for the executor metrics
+     * @return The execution strategy
+     */
+    public static ExecutionStrategy create(ExecutionMode mode, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        return switch (mode) {
+            case EVENT_LOOP -> new ExecutionStrategy(mode, null);
+            case BOUNDED -> new ExecutionStrategy(mode, scheduler(mode, boundedExecutor(threads, queueCapacity), meterRegistry));
+            case VIRTUAL -> {
+                ExecutorService virtualExecutor = virtualThreadExecutor();
+                if (virtualExecutor == null) {
+                    log.warn("Virtual threads are not available on Java {}, falling back to the bounded execution mode",
+                            Runtime.version().feature());
+                    yield create(ExecutionMode.BOUNDED, threads, queueCapacity, meterRegistry);
+                }
+                yield new ExecutionStrategy(mode, scheduler(mode, virtualExecutor, meterRegistry));
+            }
+        };
+    }
+
+    /**
+     * Applies the execution mode to a Mono.
+     *
+     * @param mono The pipeline
+     * @return The pipeline, subscribed on the configured scheduler if any
+     */
+    public <T> Mono<T> mono(Mono<T> mono) {
+        return scheduler == null ? mono : mono.subscribeOn(scheduler);
+    }
+
+    /**
+     * Applies the execution mode to a Flux.
+     *
+     * @param flux The pipeline
+     * @return The pipeline, subscribed on the configured scheduler if any
+     */
+    public <T> Flux<T> flux(Flux<T> flux) {
+        return scheduler == null ? flux : flux.subscribeOn(scheduler);
+    }
+
+    @Override
+    public void dispose() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    private static Scheduler scheduler(ExecutionMode mode, ExecutorService executor, MeterRegistry meterRegistry) {
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, METRIC_NAME,
+                Tags.of("mode", mode.name().toLowerCase()));
+        return Schedulers.fromExecutorService(monitored, METRIC_NAME);
+    }
+
+    private static ExecutorService boundedExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "employee-exec-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Looks up Executors.newVirtualThreadPerTaskExecutor reflectively, since the project still targets Java 17.
+     */
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+}
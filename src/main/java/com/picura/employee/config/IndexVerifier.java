@@ -0,0 +1,75 @@
+package com.picura.employee.config;
+
+import com.picura.employee.entity.Employee;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Verifies at startup that every index declared on {@link Employee} exists in MongoDB.
+ * Missing indexes are logged and, unless picura.indexes.create-missing is disabled, created.
+ * A failure to reach MongoDB is logged and does not prevent the application from starting.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class IndexVerifier {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Value("${picura.indexes.verify-on-startup:true}")
+    private boolean verifyOnStartup;
+
+    @Value("${picura.indexes.create-missing:true}")
+    private boolean createMissing;
+
+    /**
+     * Compares the declared indexes with the existing ones once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIndexes() {
+        if (!verifyOnStartup) {
+            return;
+        }
+        List<IndexDefinition> declared = StreamSupport.stream(
+                new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(Employee.class).spliterator(), false)
+                .collect(Collectors.toList());
+        ReactiveIndexOperations indexOperations = mongoTemplate.indexOps(Employee.class);
+        indexOperations.getIndexInfo()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet())
+                .map(existing -> declared.stream()
+                        .filter(index -> !existing.contains(indexName(index)))
+                        .collect(Collectors.toList()))
+                .flatMapMany(missing -> {
+                    if (missing.isEmpty()) {
+                        log.info("All {} declared employee indexes are present", declared.size());
+                        return Flux.empty();
+                    }
+                    missing.forEach(index -> log.warn("Missing index {} on the employees collection", indexName(index)));
+                    return createMissing ? Flux.fromIterable(missing).concatMap(indexOperations::ensureIndex) : Flux.empty();
+                })
+                .subscribe(
+                        created -> log.info("Created missing employee index {}", created),
+                        error -> log.warn("Could not verify employee indexes: {}", error.getMessage()));
+    }
+
+    private String indexName(IndexDefinition index) {
+        return String.valueOf(index.getIndexOptions().get("name"));
+    }
+}
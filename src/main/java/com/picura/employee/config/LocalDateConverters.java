@@ -0,0 +1,49 @@
+package com.picura.employee.config;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Stores LocalDate values as the BSON date of their midnight in a fixed time zone.
+ * Spring Data would otherwise use the JVM's default zone, so the stored instants, and the days that
+ * server-side date operators such as $dateTrunc see in them, would depend on where the application runs.
+ */
+final class LocalDateConverters {
+
+    private LocalDateConverters() {
+    }
+
+    /**
+     * Returns the converters storing dates at midnight in a zone.
+     *
+     * @param zone The zone in which dates are stored
+     * @return The writing and reading converters
+     */
+    static List<Converter<?, ?>> in(ZoneId zone) {
+        return List.of(new ToDate(zone), new FromDate(zone));
+    }
+
+    @WritingConverter
+    record ToDate(ZoneId zone) implements Converter<LocalDate, Date> {
+
+        @Override
+        public Date convert(LocalDate source) {
+            return Date.from(source.atStartOfDay(zone).toInstant());
+        }
+    }
+
+    @ReadingConverter
+    record FromDate(ZoneId zone) implements Converter<Date, LocalDate> {
+
+        @Override
+        public LocalDate convert(Date source) {
+            return source.toInstant().atZone(zone).toLocalDate();
+        }
+    }
+}
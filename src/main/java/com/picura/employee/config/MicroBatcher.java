@@ -0,0 +1,145 @@
+package com.picura.employee.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style batcher: individual key lookups are collected for up to {@code window}, or until
+ * {@code maxBatchSize} distinct keys are pending, and resolved together by one call of the loader.
+ * Lookups of the same key within a batch share its result. Each lookup completes with the value whose
+ * key matches, empty if the loader did not return one, or the error of the loader.
+ * A {@code maxBatchSize} of 1 dispatches every lookup immediately, which disables batching.
+ * Publishes the employee.batcher.calls counter and the employee.batcher.size summary, whose count is
+ * the number of loader calls, tagged by batcher name.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public final class MicroBatcher<K, V> {
+
+    static final String METRIC_NAME = "employee.batcher";
+
+    private final Settings settings;
+    private final Function<List<K>, Flux<V>> loader;
+    private final Function<V, K> keyOf;
+    private final Counter calls;
+    private final DistributionSummary batchSizes;
+
+    // Guarded by the lock of this batcher
+    private Map<K, Sinks.One<V>> pending = new LinkedHashMap<>();
+    private Disposable windowTimer;
+
+    /**
+     * Limits of one batcher.
+     *
+     * @param maxBatchSize Distinct keys that trigger a loader call before the window ends
+     * @param window Time the first pending key waits for others
+     */
+    public record Settings(int maxBatchSize, Duration window) {
+    }
+
+    /**
+     * Creates a batcher.
+     *
+     * @param name The batcher name used as metric tag
+     * @param settings The batch limits
+     * @param loader Resolves a batch of distinct keys, in any order
+     * @param keyOf Extracts the key of a resolved value
+     * @param meterRegistry The registry for the batcher metrics
+     */
+    public MicroBatcher(String name, Settings settings, Function<List<K>, Flux<V>> loader, Function<V, K> keyOf,
+                        MeterRegistry meterRegistry) {
+        if (settings.maxBatchSize() < 1) {
+            throw new IllegalArgumentException("The " + name + " max-batch-size must be at least 1");
+        }
+        this.settings = settings;
+        this.loader = loader;
+        this.keyOf = keyOf;
+        this.calls = Counter.builder(METRIC_NAME + ".calls")
+                .description("Lookups submitted to the batcher")
+                .tag("batcher", name)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder(METRIC_NAME + ".size")
+                .description("Distinct keys per loader call")
+                .tag("batcher", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Looks up one key as part of the next batch.
+     *
+     * @param key The key to resolve
+     * @return A Mono with the value of the key, empty if the loader returned none
+     */
+    public Mono<V> load(K key) {
+        return Mono.defer(() -> {
+            calls.increment();
+            Sinks.One<V> result;
+            Map<K, Sinks.One<V>> full = null;
+            synchronized (this) {
+                result = pending.computeIfAbsent(key, k -> Sinks.one());
+                if (pending.size() >= settings.maxBatchSize()) {
+                    full = takePending();
+                } else if (windowTimer == null) {
+                    windowTimer = Schedulers.parallel().schedule(this::flushWindow,
+                            settings.window().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            if (full != null) {
+                dispatch(full);
+            }
+            return result.asMono();
+        });
+    }
+
+    private void flushWindow() {
+        Map<K, Sinks.One<V>> batch;
+        synchronized (this) {
+            windowTimer = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private Map<K, Sinks.One<V>> takePending() {
+        Map<K, Sinks.One<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (windowTimer != null) {
+            windowTimer.dispose();
+            windowTimer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, Sinks.One<V>> batch) {
+        batchSizes.record(batch.size());
+        // Only touched by the serialized signals of the loader below
+        Map<K, Sinks.One<V>> unresolved = new HashMap<>(batch);
+        Flux.defer(() -> loader.apply(List.copyOf(batch.keySet())))
+                .subscribe(value -> {
+                            Sinks.One<V> sink = unresolved.remove(keyOf.apply(value));
+                            if (sink != null) {
+                                sink.tryEmitValue(value);
+                            }
+                        },
+                        error -> unresolved.values().forEach(sink -> sink.tryEmitError(error)),
+                        () -> unresolved.values().forEach(Sinks.One::tryEmitEmpty));
+    }
+}
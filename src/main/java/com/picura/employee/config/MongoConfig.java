@@ -6,14 +6,18 @@ import com.mongodb.reactivestreams.client.MongoClient;
 import com.mongodb.reactivestreams.client.MongoClients;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
 import org.springframework.data.mongodb.config.AbstractReactiveMongoConfiguration;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
 
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -41,11 +45,41 @@ public class MongoConfig extends AbstractReactiveMongoConfiguration {
     @Value("${spring.data.mongodb.socket-timeout:0}")
     private int socketTimeout;
 
+    @Value("${spring.data.mongodb.auto-index-creation:false}")
+    private boolean autoIndexCreation;
+
+    @Value("${picura.mongodb.slow-command-threshold:100ms}")
+    private Duration slowCommandThreshold;
+
+    @Value("${picura.mongodb.date-zone:UTC}")
+    private ZoneId dateZone;
+
+    private final MeterRegistry meterRegistry;
+
+    public MongoConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Override
     protected String getDatabaseName() {
         return databaseName;
     }
 
+    @Override
+    protected Collection<String> getMappingBasePackages() {
+        return List.of("com.picura.employee.entity");
+    }
+
+    @Override
+    protected boolean autoIndexCreation() {
+        return autoIndexCreation;
+    }
+
+    @Override
+    protected void configureConverters(MongoCustomConversions.MongoConverterConfigurationAdapter adapter) {
+        adapter.registerConverters(LocalDateConverters.in(dateZone));
+    }
+
     @Override
     @Bean
     public MongoClient reactiveMongoClient() {
@@ -55,7 +89,9 @@ public class MongoConfig extends AbstractReactiveMongoConfiguration {
             .applyToConnectionPoolSettings(builder -> builder
                 .maxSize(maxConnectionPoolSize)
                 .minSize(minConnectionPoolSize)
-                .maxConnectionIdleTime(maxConnectionIdleTime, TimeUnit.MILLISECONDS))
+                .maxConnectionIdleTime(maxConnectionIdleTime, TimeUnit.MILLISECONDS)
+                .addConnectionPoolListener(mongoConnectionPoolMetricsListener()))
+            .addCommandListener(mongoCommandMetricsListener())
             .applyToClusterSettings(builder -> 
                 builder.serverSelectionTimeout(5000, TimeUnit.MILLISECONDS))
             .applyToSocketSettings(builder -> 
@@ -65,19 +101,19 @@ public class MongoConfig extends AbstractReactiveMongoConfiguration {
         return MongoClients.create(settings);
     }
 
+    // Not named mongoMetricsCommandListener, which would clash with Spring Boot's own listener bean
     @Bean
-    @Primary
-    public ReactiveMongoTemplate reactiveMongoTemplate() throws Exception {
-        return new ReactiveMongoTemplate(reactiveMongoClient(), getDatabaseName());
+    public MongoMetricsCommandListener mongoCommandMetricsListener() {
+        return new MongoMetricsCommandListener(meterRegistry, slowCommandThreshold);
     }
 
     @Bean
-    @ConditionalOnMissingBean
-    public MongoMetricsCommandListener mongoMetricsCommandListener(MeterRegistry meterRegistry) {
-        return new MongoMetricsCommandListener(meterRegistry);
+    public MongoMetricsConnectionPoolListener mongoConnectionPoolMetricsListener() {
+        return new MongoMetricsConnectionPoolListener(meterRegistry);
     }
 
     @Bean
+    @ConditionalOnEnabledHealthIndicator("mongo")
     public MongoHealthIndicator mongoHealthIndicator(ReactiveMongoTemplate reactiveMongoTemplate) {
         return new MongoHealthIndicator(reactiveMongoTemplate);
     }
@@ -1,41 +1,157 @@
 package com.picura.employee.config;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+import com.mongodb.event.CommandEvent;
 import com.mongodb.event.CommandFailedEvent;
 import com.mongodb.event.CommandListener;
 import com.mongodb.event.CommandStartedEvent;
 import com.mongodb.event.CommandSucceededEvent;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
 
+/**
+ * Records the latency of every Mongo command in the mongodb.command timer, tagged by command, collection
+ * and outcome, with percentile histograms. Timers are created once per tag combination and reused.
+ * Commands slower than the configured threshold are logged with their query shape: the command with
+ * every literal value replaced by "?", so the log shows which query was slow without leaking data.
+ * The shape is only worked out once a command turns out to be slow.
+ */
+@Slf4j
 public class MongoMetricsCommandListener implements CommandListener {
+
+    private static final String METER_NAME = "mongodb.command";
+    private static final String UNKNOWN_COLLECTION = "none";
+    private static final String MASK = "?";
+    private static final int MAX_SHAPE_LENGTH = 1000;
+    // Sort specifications are part of the shape, so they are kept unmasked
+    private static final Set<String> SORT_FIELDS = Set.of("sort", "$sort");
+    // Fields added by the driver to every command, which say nothing about the query itself
+    private static final Set<String> DRIVER_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "txnNumber", "$readPreference", "apiVersion", "autocommit", "startTransaction");
+
     private final MeterRegistry meterRegistry;
+    private final long slowCommandThresholdNanos;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Integer, StartedCommand> inFlight = new ConcurrentHashMap<>();
 
-    public MongoMetricsCommandListener(MeterRegistry meterRegistry) {
+    /**
+     * @param meterRegistry Registry to publish the timers to
+     * @param slowCommandThreshold Latency above which a command is logged, or zero to disable the log
+     */
+    public MongoMetricsCommandListener(MeterRegistry meterRegistry, Duration slowCommandThreshold) {
         this.meterRegistry = meterRegistry;
+        this.slowCommandThresholdNanos = slowCommandThreshold.toNanos();
     }
 
     @Override
     public void commandStarted(CommandStartedEvent event) {
-        // Implementar si es necesario
+        BsonDocument command = event.getCommand();
+        // The command is only readable during this callback; a copy of its bytes is kept in case it turns out slow
+        inFlight.put(event.getRequestId(), new StartedCommand(collectionOf(command),
+                slowCommandThresholdNanos > 0 ? command.clone() : null));
     }
 
     @Override
     public void commandSucceeded(CommandSucceededEvent event) {
-        Timer.builder("mongodb.command")
-             .tag("command", event.getCommandName())
-             .tag("status", "success")
-             .register(meterRegistry)
-             .record(event.getElapsedTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        record(event, "success", event.getElapsedTime(TimeUnit.NANOSECONDS));
     }
 
     @Override
     public void commandFailed(CommandFailedEvent event) {
-        Timer.builder("mongodb.command")
-             .tag("command", event.getCommandName())
-             .tag("status", "failed")
-             .register(meterRegistry)
-             .record(event.getElapsedTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        record(event, "failed", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(CommandEvent event, String status, long elapsedNanos) {
+        StartedCommand started = inFlight.remove(event.getRequestId());
+        String collection = started != null ? started.collection() : UNKNOWN_COLLECTION;
+        timers.computeIfAbsent(new TimerKey(event.getCommandName(), collection, status), key -> Timer.builder(METER_NAME)
+                        .description("Latency of Mongo commands")
+                        .tag("command", key.command())
+                        .tag("collection", key.collection())
+                        .tag("status", key.status())
+                        .publishPercentileHistogram()
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (slowCommandThresholdNanos > 0 && elapsedNanos >= slowCommandThresholdNanos && started != null) {
+            log.warn("Slow Mongo command {} on {} ({}) took {} ms: {}", event.getCommandName(), collection, status,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), shapeOf(started.command()));
+        }
+    }
+
+    /**
+     * Resolves the collection a command targets: the value of its first field for collection commands such as
+     * find or update, or the collection field of a getMore.
+     *
+     * @param command The command document
+     * @return The collection name, or "none" for database-level commands
+     */
+    static String collectionOf(BsonDocument command) {
+        if (command.isEmpty()) {
+            return UNKNOWN_COLLECTION;
+        }
+        BsonValue target = command.get(command.getFirstKey());
+        if (target.isString()) {
+            return target.asString().getValue();
+        }
+        BsonValue collection = command.get("collection");
+        return collection != null && collection.isString() ? collection.asString().getValue() : UNKNOWN_COLLECTION;
+    }
+
+    /**
+     * Describes the shape of a command: field names, operators and sort specifications are kept, literal values
+     * are masked and arrays keep one element per distinct shape. The command name and its collection are kept as is.
+     *
+     * @param command The command document
+     * @return The shape as JSON, truncated to 1000 characters
+     */
+    static String shapeOf(BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        boolean first = true;
+        for (Map.Entry<String, BsonValue> field : command.entrySet()) {
+            if (first) {
+                shape.put(field.getKey(), field.getValue());
+                first = false;
+            } else if (!DRIVER_FIELDS.contains(field.getKey())) {
+                shape.put(field.getKey(), SORT_FIELDS.contains(field.getKey()) ? field.getValue() : mask(field.getValue()));
+            }
+        }
+        String json = shape.toJson();
+        return json.length() > MAX_SHAPE_LENGTH ? json.substring(0, MAX_SHAPE_LENGTH) + "..." : json;
+    }
+
+    private static BsonValue mask(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument masked = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> masked.put(key, SORT_FIELDS.contains(key) ? nested : mask(nested)));
+            return masked;
+        }
+        if (value.isArray()) {
+            BsonArray masked = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                BsonValue maskedElement = mask(element);
+                if (!masked.contains(maskedElement)) {
+                    masked.add(maskedElement);
+                }
+            }
+            return masked;
+        }
+        return new BsonString(MASK);
+    }
+
+    private record TimerKey(String command, String collection, String status) {
+    }
+
+    private record StartedCommand(String collection, BsonDocument command) {
     }
 }
@@ -0,0 +1,158 @@
+package com.picura.employee.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Publishes the state of the Mongo connection pool of every server, tagged by server address:
+ * <ul>
+ *     <li>mongodb.pool.size, mongodb.pool.max, mongodb.pool.checkedout and mongodb.pool.waitqueue gauges</li>
+ *     <li>mongodb.pool.checkout timer, the time spent waiting for a connection, tagged by outcome</li>
+ *     <li>mongodb.pool.checkout.failures counter, tagged by failure reason</li>
+ * </ul>
+ * A wait time that grows while checkedout stays at max means the pool is too small for the load;
+ * checkedout staying well below max means it can be shrunk.
+ */
+public class MongoMetricsConnectionPoolListener implements ConnectionPoolListener {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ServerId, PoolMeters> pools = new ConcurrentHashMap<>();
+
+    public MongoMetricsConnectionPoolListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        pools.computeIfAbsent(event.getServerId(), serverId ->
+                new PoolMeters(serverId, event.getSettings().getMaxSize()));
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        PoolMeters meters = pools.remove(event.getServerId());
+        if (meters != null) {
+            meters.remove();
+        }
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        withPool(event.getConnectionId().getServerId(), meters -> meters.size.incrementAndGet());
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        withPool(event.getConnectionId().getServerId(), meters -> meters.size.decrementAndGet());
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        withPool(event.getServerId(), meters -> meters.waitQueue.incrementAndGet());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        withPool(event.getConnectionId().getServerId(), meters -> {
+            meters.waitQueue.decrementAndGet();
+            meters.checkedOut.incrementAndGet();
+            meters.checkoutSucceeded.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        });
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        withPool(event.getServerId(), meters -> {
+            meters.waitQueue.decrementAndGet();
+            meters.checkoutFailed.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            meters.failures.computeIfAbsent(event.getReason(), reason -> Counter.builder("mongodb.pool.checkout.failures")
+                            .description("Connection checkouts that failed")
+                            .tags(meters.tags)
+                            .tag("reason", reason.name().toLowerCase())
+                            .register(meterRegistry))
+                    .increment();
+        });
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        withPool(event.getConnectionId().getServerId(), meters -> meters.checkedOut.decrementAndGet());
+    }
+
+    private void withPool(ServerId serverId, Consumer<PoolMeters> action) {
+        PoolMeters meters = pools.get(serverId);
+        if (meters != null) {
+            action.accept(meters);
+        }
+    }
+
+    /**
+     * Counters and meters of the pool of one server.
+     */
+    private final class PoolMeters {
+
+        private final Tags tags;
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger checkedOut = new AtomicInteger();
+        private final AtomicInteger waitQueue = new AtomicInteger();
+        private final Timer checkoutSucceeded;
+        private final Timer checkoutFailed;
+        private final Map<ConnectionCheckOutFailedEvent.Reason, Counter> failures = new ConcurrentHashMap<>();
+        private final Meter[] gauges;
+
+        private PoolMeters(ServerId serverId, int maxSize) {
+            this.tags = Tags.of("server", serverId.getAddress().toString());
+            this.checkoutSucceeded = checkoutTimer("success");
+            this.checkoutFailed = checkoutTimer("failed");
+            this.gauges = new Meter[] {
+                    Gauge.builder("mongodb.pool.size", size, AtomicInteger::get)
+                            .description("Open connections").tags(tags).register(meterRegistry),
+                    Gauge.builder("mongodb.pool.max", () -> maxSize)
+                            .description("Maximum number of connections").tags(tags).register(meterRegistry),
+                    Gauge.builder("mongodb.pool.checkedout", checkedOut, AtomicInteger::get)
+                            .description("Connections in use").tags(tags).register(meterRegistry),
+                    Gauge.builder("mongodb.pool.waitqueue", waitQueue, AtomicInteger::get)
+                            .description("Operations waiting for a connection").tags(tags).register(meterRegistry)
+            };
+        }
+
+        private Timer checkoutTimer(String status) {
+            return Timer.builder("mongodb.pool.checkout")
+                    .description("Time spent waiting for a connection")
+                    .tags(tags)
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+        }
+
+        private void remove() {
+            for (Meter gauge : gauges) {
+                meterRegistry.remove(gauge);
+            }
+            meterRegistry.remove(checkoutSucceeded);
+            meterRegistry.remove(checkoutFailed);
+            failures.values().forEach(meterRegistry::remove);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.picura.employee.config;
+
+import com.picura.employee.dto.OperationSummaryDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Meters named service pipelines from subscription to termination.
+ * Every operation publishes, tagged by operation name:
+ * <ul>
+ *     <li>employee.operation timer: latency from subscription to completion, error or cancellation</li>
+ *     <li>employee.operation.outcomes counter, tagged by outcome (success, error or cancelled)</li>
+ *     <li>employee.operation.elements summary: elements emitted per subscription</li>
+ *     <li>employee.operation.fallbacks counter: fallback method invocations</li>
+ * </ul>
+ * Meters are created once per operation and reused.
+ */
+@Component
+public class OperationMetrics {
+
+    static final String METRIC_NAME = "employee.operation";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, OperationMeters> operations = new ConcurrentHashMap<>();
+
+    public OperationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns a transformer metering a Mono pipeline under the given operation name.
+     *
+     * @param operation The operation name
+     * @return A function to pass to {@link Mono#transform}
+     */
+    public <T> Function<Mono<T>, Mono<T>> mono(String operation) {
+        OperationMeters meters = meters(operation);
+        return mono -> Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong elements = new AtomicLong();
+            return mono.doOnNext(value -> elements.incrementAndGet())
+                    .doFinally(signal -> meters.record(signal, System.nanoTime() - start, elements.get()));
+        });
+    }
+
+    /**
+     * Returns a transformer metering a Flux pipeline under the given operation name.
+     *
+     * @param operation The operation name
+     * @return A function to pass to {@link Flux#transform}
+     */
+    public <T> Function<Flux<T>, Flux<T>> flux(String operation) {
+        OperationMeters meters = meters(operation);
+        return flux -> Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicLong elements = new AtomicLong();
+            return flux.doOnNext(value -> elements.incrementAndGet())
+                    .doFinally(signal -> meters.record(signal, System.nanoTime() - start, elements.get()));
+        });
+    }
+
+    /**
+     * Counts an invocation of the fallback of an operation.
+     *
+     * @param operation The operation name
+     */
+    public void recordFallback(String operation) {
+        meters(operation).fallbacks.increment();
+    }
+
+    /**
+     * Summarizes every operation metered so far.
+     *
+     * @return One summary per operation, in no particular order
+     */
+    public List<OperationSummaryDTO> summaries() {
+        return operations.values().stream().map(OperationMeters::summary).toList();
+    }
+
+    private OperationMeters meters(String operation) {
+        return operations.computeIfAbsent(operation, OperationMeters::new);
+    }
+
+    private enum Outcome {
+        SUCCESS, ERROR, CANCELLED
+    }
+
+    /**
+     * Meters of one operation.
+     */
+    private final class OperationMeters {
+
+        private final String operation;
+        private final Timer latency;
+        private final DistributionSummary elements;
+        private final Counter fallbacks;
+        private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+        private OperationMeters(String operation) {
+            this.operation = operation;
+            this.latency = Timer.builder(METRIC_NAME)
+                    .description("Latency of service operations from subscription to termination")
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(PERCENTILES)
+                    .register(meterRegistry);
+            this.elements = DistributionSummary.builder(METRIC_NAME + ".elements")
+                    .description("Elements emitted per subscription of service operations")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            this.fallbacks = Counter.builder(METRIC_NAME + ".fallbacks")
+                    .description("Fallback invocations of service operations")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, Counter.builder(METRIC_NAME + ".outcomes")
+                        .description("Terminations of service operations by outcome")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+
+        private void record(SignalType signal, long elapsedNanos, long emitted) {
+            Outcome outcome = switch (signal) {
+                case ON_ERROR -> Outcome.ERROR;
+                case CANCEL -> Outcome.CANCELLED;
+                default -> Outcome.SUCCESS;
+            };
+            latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            elements.record(emitted);
+            outcomes.get(outcome).increment();
+        }
+
+        private OperationSummaryDTO summary() {
+            HistogramSnapshot snapshot = latency.takeSnapshot();
+            return OperationSummaryDTO.builder()
+                    .operation(operation)
+                    .count(snapshot.count())
+                    .errors((long) outcomes.get(Outcome.ERROR).count())
+                    .cancellations((long) outcomes.get(Outcome.CANCELLED).count())
+                    .fallbacks((long) fallbacks.count())
+                    .totalTimeMs(snapshot.total(TimeUnit.MILLISECONDS))
+                    .meanMs(snapshot.mean(TimeUnit.MILLISECONDS))
+                    .p99Ms(percentile(snapshot.percentileValues(), 0.99))
+                    .maxMs(snapshot.max(TimeUnit.MILLISECONDS))
+                    .meanElements(elements.mean())
+                    .build();
+        }
+
+        private double percentile(ValueAtPercentile[] values, double percentile) {
+            for (ValueAtPercentile value : values) {
+                if (value.percentile() == percentile) {
+                    return value.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.picura.employee.config;
+
+import com.picura.employee.dto.OperationReportDTO;
+import com.picura.employee.dto.OperationSummaryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Actuator endpoint that ranks the service operations metered by {@link OperationMetrics}
+ * by total time spent and by p99 latency. Exposed as /actuator/operations.
+ */
+@Component
+@Endpoint(id = "operations")
+@RequiredArgsConstructor
+public class OperationMetricsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final OperationMetrics operationMetrics;
+
+    /**
+     * Reports the hottest and slowest operations.
+     *
+     * @param limit Maximum number of operations per ranking, 10 by default
+     * @return The report
+     */
+    @ReadOperation
+    public OperationReportDTO operations(@Nullable Integer limit) {
+        int size = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        List<OperationSummaryDTO> summaries = operationMetrics.summaries();
+        return OperationReportDTO.builder()
+                .hottest(top(summaries, OperationSummaryDTO::getTotalTimeMs, size))
+                .slowest(top(summaries, OperationSummaryDTO::getP99Ms, size))
+                .build();
+    }
+
+    private List<OperationSummaryDTO> top(List<OperationSummaryDTO> summaries, ToDoubleFunction<OperationSummaryDTO> key, int size) {
+        return summaries.stream()
+                .filter(summary -> summary.getCount() > 0)
+                .sorted(Comparator.comparingDouble(key).reversed())
+                .limit(size)
+                .toList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.picura.employee.config;
+
+import com.picura.employee.dto.QueryPlanDTO;
+import com.picura.employee.entity.Employee;
+import com.picura.employee.repository.EmployeeQueryShapes;
+import com.picura.employee.repository.EmployeeQueryShapes.QueryShape;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Actuator endpoint that explains every repository query shape and flags collection scans and in-memory sorts.
+ * Exposed as /actuator/queryplans.
+ */
+@Component
+@Endpoint(id = "queryplans")
+@RequiredArgsConstructor
+public class QueryPlanEndpoint {
+
+    private static final String COLLSCAN = "COLLSCAN";
+    private static final String SORT = "SORT";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Explains every query shape of {@link EmployeeQueryShapes} against the employees collection.
+     *
+     * @return A Mono with one plan per query shape
+     */
+    @ReadOperation
+    public Mono<List<QueryPlanDTO>> queryPlans() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Employee.class))
+                .flatMapMany(collection -> Flux.fromIterable(EmployeeQueryShapes.all())
+                        .concatMap(shape -> Mono.from(collection.find(shape.filter()).sort(shape.sort()).explain(Document.class))
+                                .map(explain -> toPlan(shape, explain))
+                                .onErrorResume(ex -> Mono.just(failedPlan(shape, ex)))))
+                .collectList();
+    }
+
+    private QueryPlanDTO toPlan(QueryShape shape, Document explain) {
+        List<String> stages = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        Document queryPlanner = explain.get("queryPlanner", new Document());
+        collectStages(queryPlanner.get("winningPlan"), stages, indexes);
+        boolean collectionScan = stages.contains(COLLSCAN);
+        boolean inMemorySort = stages.contains(SORT);
+        return basePlan(shape)
+                .stages(stages)
+                .indexes(indexes)
+                .collectionScan(collectionScan)
+                .inMemorySort(inMemorySort)
+                .ok(shape.scanExpected() || (!collectionScan && !inMemorySort))
+                .build();
+    }
+
+    private QueryPlanDTO failedPlan(QueryShape shape, Throwable ex) {
+        return basePlan(shape)
+                .stages(List.of())
+                .indexes(List.of())
+                .error(ex.getMessage())
+                .build();
+    }
+
+    private QueryPlanDTO.QueryPlanDTOBuilder basePlan(QueryShape shape) {
+        return QueryPlanDTO.builder()
+                .method(shape.method())
+                .filter(shape.filter().toJson())
+                .sort(shape.sort().toJson())
+                .scanExpected(shape.scanExpected());
+    }
+
+    /**
+     * Walks a plan tree depth first. Classic plans nest stages under inputStage/inputStages,
+     * slot-based plans wrap them in a queryPlan document.
+     */
+    private void collectStages(Object node, List<String> stages, List<String> indexes) {
+        if (!(node instanceof Document stage)) {
+            return;
+        }
+        String name = stage.getString("stage");
+        if (name != null) {
+            stages.add(name);
+        }
+        String indexName = stage.getString("indexName");
+        if (indexName != null) {
+            indexes.add(indexName);
+        }
+        collectStages(stage.get("queryPlan"), stages, indexes);
+        collectStages(stage.get("inputStage"), stages, indexes);
+        for (Object input : stage.getList("inputStages", Object.class, List.of())) {
+            collectStages(input, stages, indexes);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.picura.employee.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a call for a key is in flight, further calls for the same key
+ * subscribe to it instead of starting their own query, and all of them receive the same elements, completion
+ * or error. Elements are replayed to callers that join after the first element was emitted. A caller that
+ * cancels only stops its own subscription; the shared query is cancelled once every caller has cancelled.
+ * Once the shared call terminates, the next call for the key starts a new query, so results are never
+ * served after the fact.
+ * Publishes the employee.singleflight.calls counter tagged by operation and by whether the call
+ * was executed or coalesced into one already in flight.
+ */
+@Component
+public class SingleFlight {
+
+    static final String METRIC_NAME = "employee.singleflight.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Flux<?>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a Mono call, sharing it with concurrent calls of the same operation and arguments.
+     *
+     * @param operation The operation name
+     * @param arguments The arguments that identify identical calls
+     * @param call Starts the call
+     * @return A Mono with the shared result
+     */
+    public <T> Mono<T> mono(String operation, List<?> arguments, Supplier<Mono<T>> call) {
+        return flux(operation, arguments, () -> call.get().flux()).singleOrEmpty();
+    }
+
+    /**
+     * Runs a Flux call, sharing it with concurrent calls of the same operation and arguments.
+     *
+     * @param operation The operation name
+     * @param arguments The arguments that identify identical calls
+     * @param call Starts the call
+     * @return A Flux with the shared elements
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> flux(String operation, List<?> arguments, Supplier<Flux<T>> call) {
+        Key key = new Key(operation, arguments);
+        return Flux.defer(() -> {
+            boolean[] executed = {false};
+            Flux<?> shared = inFlight.computeIfAbsent(key, k -> {
+                executed[0] = true;
+                return share(k, call.get());
+            });
+            counters(operation)[executed[0] ? 0 : 1].increment();
+            return (Flux<T>) shared;
+        });
+    }
+
+    private <T> Flux<T> share(Key key, Flux<T> source) {
+        Flux<?>[] self = new Flux<?>[1];
+        Flux<T> shared = source
+                .doFinally(signal -> inFlight.remove(key, self[0]))
+                .replay()
+                .refCount(1);
+        self[0] = shared;
+        return shared;
+    }
+
+    private Counter[] counters(String operation) {
+        return counters.computeIfAbsent(operation, name -> new Counter[] {
+                counter(name, "executed"),
+                counter(name, "coalesced")
+        });
+    }
+
+    private Counter counter(String operation, String result) {
+        return Counter.builder(METRIC_NAME)
+                .description("Read calls, executed or coalesced into an identical call in flight")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Key(String operation, List<?> arguments) {
+    }
+}
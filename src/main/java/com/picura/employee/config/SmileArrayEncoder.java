@@ -0,0 +1,41 @@
+package com.picura.employee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Smile encoder that writes Flux bodies as a single Smile array.
+ * Spring's encoder joins the elements of a non-streaming Flux with JSON array delimiters, which no Smile decoder
+ * reads; here the elements are collected and encoded together, so they also share one name table.
+ * Streaming media types keep Spring's one-document-per-element encoding.
+ */
+public class SmileArrayEncoder extends Jackson2SmileEncoder {
+
+    public SmileArrayEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+        super(mapper, mimeTypes);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        if (inputStream instanceof Mono<?> || (mimeType != null && getStreamingMediaTypes().stream().anyMatch(mimeType::isCompatibleWith))) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return Flux.from(inputStream)
+                .collectList()
+                .map(values -> encodeValue(values, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+}
@@ -0,0 +1,47 @@
+package com.picura.employee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * CBOR encoder that also writes Flux bodies.
+ * Spring's encoder only handles single values; here a stream is written as a CBOR indefinite-length array,
+ * opened before the first element and closed with a break byte after the last, so elements are encoded and
+ * flushed one at a time. Any CBOR decoder reads the result as a regular array.
+ */
+public class StreamingCborEncoder extends Jackson2CborEncoder {
+
+    private static final byte START_INDEFINITE_ARRAY = (byte) 0x9F;
+    private static final byte BREAK = (byte) 0xFF;
+
+    public StreamingCborEncoder(ObjectMapper mapper) {
+        super(mapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        if (inputStream instanceof Mono<?> mono) {
+            return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+        return Flux.concat(
+                Mono.fromCallable(() -> marker(bufferFactory, START_INDEFINITE_ARRAY)),
+                Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)),
+                Mono.fromCallable(() -> marker(bufferFactory, BREAK)));
+    }
+
+    private static DataBuffer marker(DataBufferFactory bufferFactory, byte marker) {
+        return bufferFactory.allocateBuffer(1).write(marker);
+    }
+}
@@ -0,0 +1,284 @@
+package com.picura.employee.config;
+
+import com.picura.employee.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Write-behind queue: mutations are held in memory and written together by one call of the writer, once
+ * {@code maxBatchSize} keys are queued or the oldest queued mutation has waited {@code maxDelay}.
+ * Mutations of a key that is already queued are merged into the queued one, and all their callers complete
+ * with the value written for that key, empty if the writer did not return one, or the error of the writer.
+ * Flushes run one at a time, so mutations of the same key are written in submission order; mutations
+ * submitted during a flush are queued for the next one. Once {@code capacity} keys are queued, further keys
+ * are rejected with {@link ServiceOverloadedException}.
+ * Closing the queue rejects new mutations and flushes the queued ones, waiting up to {@code drainTimeout}.
+ * Publishes the employee.writebehind.queue gauge, the employee.writebehind.flush timer tagged by outcome,
+ * the employee.writebehind.size summary of keys per flush and the employee.writebehind.merged counter,
+ * tagged by queue name.
+ *
+ * @param <K> The key type
+ * @param <U> The mutation type
+ * @param <V> The written value type
+ */
+@Slf4j
+public final class WriteCoalescer<K, U, V> implements AutoCloseable {
+
+    static final String METRIC_NAME = "employee.writebehind";
+
+    private final String name;
+    private final Settings settings;
+    private final BinaryOperator<U> merge;
+    private final Function<Map<K, U>, Flux<V>> writer;
+    private final Function<V, K> keyOf;
+    private final Timer successfulFlushes;
+    private final Timer failedFlushes;
+    private final DistributionSummary batchSizes;
+    private final Counter merged;
+
+    // Guarded by the lock of this queue
+    private Map<K, Pending<U, V>> pending = new LinkedHashMap<>();
+    private Disposable delayTimer;
+    private boolean due;
+    private boolean flushing;
+    private boolean closed;
+
+    /**
+     * Limits of one queue.
+     *
+     * @param maxBatchSize Queued keys that trigger a flush before the delay ends
+     * @param maxDelay Time the oldest queued mutation waits for others
+     * @param capacity Queued keys beyond which mutations of new keys are rejected
+     * @param drainTimeout Time closing the queue waits for the queued mutations to be written
+     */
+    public record Settings(int maxBatchSize, Duration maxDelay, int capacity, Duration drainTimeout) {
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param name The queue name used as metric tag
+     * @param settings The queue limits
+     * @param merge Combines a queued mutation with a later one of the same key
+     * @param writer Writes a batch of mutations by key and emits the written values, in any order
+     * @param keyOf Extracts the key of a written value
+     * @param meterRegistry The registry for the queue metrics
+     */
+    public WriteCoalescer(String name, Settings settings, BinaryOperator<U> merge, Function<Map<K, U>, Flux<V>> writer,
+                          Function<V, K> keyOf, MeterRegistry meterRegistry) {
+        if (settings.maxBatchSize() < 1 || settings.capacity() < settings.maxBatchSize()) {
+            throw new IllegalArgumentException("The " + name + " max-batch-size must be at least 1 and at most its capacity");
+        }
+        this.name = name;
+        this.settings = settings;
+        this.merge = merge;
+        this.writer = writer;
+        this.keyOf = keyOf;
+        this.successfulFlushes = flushTimer(name, "success", meterRegistry);
+        this.failedFlushes = flushTimer(name, "error", meterRegistry);
+        this.batchSizes = DistributionSummary.builder(METRIC_NAME + ".size")
+                .description("Keys written per flush")
+                .tag("queue", name)
+                .register(meterRegistry);
+        this.merged = Counter.builder(METRIC_NAME + ".merged")
+                .description("Mutations merged into one already queued for the same key")
+                .tag("queue", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".queue", this, WriteCoalescer::depth)
+                .description("Keys queued and not yet being written")
+                .tag("queue", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a mutation for the next flush.
+     *
+     * @param key The key to write
+     * @param mutation The mutation of the key
+     * @return A Mono completing when the mutation has been written, with the value written for the key
+     */
+    public Mono<V> submit(K key, U mutation) {
+        return Mono.defer(() -> {
+            Sinks.One<V> result;
+            Map<K, Pending<U, V>> full = null;
+            synchronized (this) {
+                if (closed) {
+                    return Mono.error(new ServiceOverloadedException("The " + name + " write queue is shut down"));
+                }
+                Pending<U, V> queued = pending.get(key);
+                if (queued != null) {
+                    queued.mutation = merge.apply(queued.mutation, mutation);
+                    merged.increment();
+                } else if (pending.size() >= settings.capacity()) {
+                    return Mono.error(new ServiceOverloadedException("The " + name + " write queue is full"));
+                } else {
+                    queued = new Pending<>(mutation);
+                    pending.put(key, queued);
+                }
+                result = queued.result;
+                if (!flushing && pending.size() >= settings.maxBatchSize()) {
+                    full = takePending();
+                } else if (delayTimer == null && !due) {
+                    delayTimer = Schedulers.parallel().schedule(this::flushDelay,
+                            settings.maxDelay().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            if (full != null) {
+                dispatch(full);
+            }
+            return result.asMono();
+        });
+    }
+
+    /**
+     * Rejects new mutations and waits up to the drain timeout for the queued ones to be written.
+     * Mutations still queued when the timeout expires fail with {@link ServiceOverloadedException}.
+     */
+    @Override
+    public void close() {
+        Map<K, Pending<U, V>> batch = null;
+        synchronized (this) {
+            closed = true;
+            if (!flushing && !pending.isEmpty()) {
+                batch = takePending();
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        Map<K, Pending<U, V>> abandoned;
+        synchronized (this) {
+            long deadline = System.nanoTime() + settings.drainTimeout().toNanos();
+            try {
+                while (flushing || !pending.isEmpty()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            abandoned = pending;
+            pending = new LinkedHashMap<>();
+            if (delayTimer != null) {
+                delayTimer.dispose();
+                delayTimer = null;
+            }
+        }
+        if (!abandoned.isEmpty()) {
+            log.warn("The {} write queue was closed with {} mutations not written", name, abandoned.size());
+            ServiceOverloadedException error = new ServiceOverloadedException("The " + name + " write queue is shut down");
+            abandoned.values().forEach(queued -> queued.result.tryEmitError(error));
+        }
+    }
+
+    private synchronized int depth() {
+        return pending.size();
+    }
+
+    private void flushDelay() {
+        Map<K, Pending<U, V>> batch;
+        synchronized (this) {
+            delayTimer = null;
+            if (flushing) {
+                // Sent as soon as the running flush completes
+                due = true;
+                return;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private void flushed() {
+        Map<K, Pending<U, V>> batch = null;
+        synchronized (this) {
+            flushing = false;
+            if (!pending.isEmpty() && (due || closed || pending.size() >= settings.maxBatchSize())) {
+                batch = takePending();
+            }
+            notifyAll();
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    private Map<K, Pending<U, V>> takePending() {
+        Map<K, Pending<U, V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (delayTimer != null) {
+            delayTimer.dispose();
+            delayTimer = null;
+        }
+        due = false;
+        flushing = true;
+        return batch;
+    }
+
+    private void dispatch(Map<K, Pending<U, V>> batch) {
+        batchSizes.record(batch.size());
+        long start = System.nanoTime();
+        Map<K, U> mutations = new LinkedHashMap<>();
+        batch.forEach((key, queued) -> mutations.put(key, queued.mutation));
+        // Only touched by the serialized signals of the writer below
+        Map<K, Pending<U, V>> unresolved = new HashMap<>(batch);
+        Flux.defer(() -> writer.apply(mutations))
+                .subscribe(value -> {
+                            Pending<U, V> queued = unresolved.remove(keyOf.apply(value));
+                            if (queued != null) {
+                                queued.result.tryEmitValue(value);
+                            }
+                        },
+                        error -> {
+                            failedFlushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                            unresolved.values().forEach(queued -> queued.result.tryEmitError(error));
+                            flushed();
+                        },
+                        () -> {
+                            successfulFlushes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                            unresolved.values().forEach(queued -> queued.result.tryEmitEmpty());
+                            flushed();
+                        });
+    }
+
+    private static Timer flushTimer(String name, String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_NAME + ".flush")
+                .description("Time to write one batch of queued mutations")
+                .tag("queue", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class Pending<U, V> {
+
+        private final Sinks.One<V> result = Sinks.one();
+        private U mutation;
+
+        private Pending(U mutation) {
+            this.mutation = mutation;
+        }
+    }
+}
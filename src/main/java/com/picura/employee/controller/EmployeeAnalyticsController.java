@@ -0,0 +1,202 @@
+package com.picura.employee.controller;
+
+import com.picura.employee.dto.HireBucketDTO;
+import com.picura.employee.dto.SalaryHistogramBucketDTO;
+import com.picura.employee.dto.SalaryRangeCountDTO;
+import com.picura.employee.dto.SalaryRankDTO;
+import com.picura.employee.dto.SalaryStatsDTO;
+import com.picura.employee.repository.HirePeriod;
+import com.picura.employee.service.HireAnalyticsService;
+import com.picura.employee.service.SalaryAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for employee salary and hiring analytics.
+ * All figures are computed by aggregation pipelines in MongoDB, so only small aggregate results
+ * are transferred, and are served from a briefly cached snapshot that is refreshed in the background.
+ * Salary ranks and range counts are served from an in-process order-statistics index without querying MongoDB.
+ */
+@RestController
+@RequestMapping("/api/v1/employees/analytics")
+@Tag(name = "Employee Analytics", description = "API de analítica salarial de empleados")
+@Validated
+@RequiredArgsConstructor
+public class EmployeeAnalyticsController {
+
+    private final SalaryAnalyticsService salaryAnalyticsService;
+    private final HireAnalyticsService hireAnalyticsService;
+
+    /**
+     * Retrieves headcount, average, median and percentile salaries per position.
+     * This endpoint is accessible only to users with ADMIN or HR roles.
+     *
+     * @param percentiles The percentiles to compute, as fractions between 0 and 1
+     * @return A Flux of SalaryStatsDTO, one per position
+     */
+    @Operation(summary = "Obtener estadísticas salariales por puesto",
+               description = "Retorna número de empleados, promedio, mediana y percentiles del salario por puesto")
+    @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                 schema = @Schema(implementation = SalaryStatsDTO.class)))
+    @GetMapping("/salary-by-puesto")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
+    public Flux<SalaryStatsDTO> getSalaryStatsByPuesto(
+            @Parameter(description = "Percentiles a calcular, entre 0 y 1")
+            @RequestParam(defaultValue = "0.25,0.75,0.9") List<@DecimalMin("0.0") @DecimalMax("1.0") Double> percentiles) {
+        return salaryAnalyticsService.getSalaryStatsByPuesto(percentiles);
+    }
+
+    /**
+     * Retrieves an equal-width salary histogram, optionally restricted to one position.
+     * This endpoint is accessible only to users with ADMIN or HR roles.
+     *
+     * @param buckets The number of buckets
+     * @param puesto The position to restrict the histogram to
+     * @return A Flux of SalaryHistogramBucketDTO ordered by lower bound
+     */
+    @Operation(summary = "Obtener histograma salarial",
+               description = "Retorna la distribución de salarios en intervalos de igual ancho")
+    @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                 schema = @Schema(implementation = SalaryHistogramBucketDTO.class)))
+    @GetMapping("/salary-histogram")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
+    public Flux<SalaryHistogramBucketDTO> getSalaryHistogram(
+            @Parameter(description = "Número de intervalos") @RequestParam(defaultValue = "10") @Min(1) @Max(200) int buckets,
+            @Parameter(description = "Puesto a analizar") @RequestParam(required = false) String puesto) {
+        return salaryAnalyticsService.getSalaryHistogram(puesto, buckets);
+    }
+
+    /**
+     * Retrieves the highest salaries with their rank and percentile.
+     * This endpoint is accessible only to users with ADMIN or HR roles.
+     *
+     * @param limit The number of salaries to retrieve
+     * @return A Flux of SalaryRankDTO, highest salary first
+     */
+    @Operation(summary = "Obtener los salarios más altos con su posición",
+               description = "Retorna los salarios más altos con su posición y percentil, sin consultar la base de datos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                     schema = @Schema(implementation = SalaryRankDTO.class))),
+        @ApiResponse(responseCode = "503", description = "El índice salarial aún se está cargando",
+                     content = @Content)
+    })
+    @GetMapping("/salary-ranks")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
+    public Flux<SalaryRankDTO> getTopSalaries(
+            @Parameter(description = "Número de salarios") @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int limit) {
+        return salaryAnalyticsService.getTopSalaries(limit);
+    }
+
+    /**
+     * Retrieves the salary rank and percentile of an employee.
+     * This endpoint is accessible to ADMIN, HR, or the employee themselves.
+     *
+     * @param id The ID of the employee
+     * @return A Mono of SalaryRankDTO
+     */
+    @Operation(summary = "Obtener la posición salarial de un empleado",
+               description = "Retorna la posición y el percentil del salario de un empleado entre todos los empleados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                     schema = @Schema(implementation = SalaryRankDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Empleado no encontrado",
+                     content = @Content),
+        @ApiResponse(responseCode = "503", description = "El índice salarial aún se está cargando",
+                     content = @Content)
+    })
+    @GetMapping("/salary-ranks/{id}")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR') or @securityService.isEmployeeOwner(#id)")
+    public Mono<SalaryRankDTO> getSalaryRank(
+            @Parameter(description = "ID del empleado") @PathVariable @NotBlank String id) {
+        return salaryAnalyticsService.getSalaryRank(id);
+    }
+
+    /**
+     * Counts the employees whose salary is within a range, both bounds included.
+     * This endpoint is accessible only to users with ADMIN or HR roles.
+     *
+     * @param min The lower salary bound
+     * @param max The upper salary bound
+     * @return A Mono of SalaryRangeCountDTO
+     */
+    @Operation(summary = "Contar empleados en un rango salarial",
+               description = "Retorna cuántos empleados tienen un salario dentro del rango, ambos límites incluidos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                     schema = @Schema(implementation = SalaryRangeCountDTO.class))),
+        @ApiResponse(responseCode = "503", description = "El índice salarial aún se está cargando",
+                     content = @Content)
+    })
+    @GetMapping("/salary-range-count")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
+    public Mono<SalaryRangeCountDTO> countSalariesBetween(
+            @Parameter(description = "Salario mínimo") @RequestParam @PositiveOrZero double min,
+            @Parameter(description = "Salario máximo") @RequestParam @PositiveOrZero double max) {
+        return salaryAnalyticsService.countSalariesBetween(min, max);
+    }
+
+    /**
+     * Retrieves the number of hires per day, week or month, optionally restricted to one position.
+     * This endpoint is accessible only to users with ADMIN or HR roles.
+     *
+     * @param period The bucket width
+     * @param from The first hire date, one year before the last one by default
+     * @param to The last hire date, today by default
+     * @param puesto The position to restrict the series to
+     * @return A Flux of HireBucketDTO ordered by period start, including periods without hires
+     */
+    @Operation(summary = "Obtener contrataciones por periodo",
+               description = "Retorna el número de contrataciones por día, semana o mes dentro de un rango de fechas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                     schema = @Schema(implementation = HireBucketDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Rango de fechas invertido o con demasiados periodos",
+                     content = @Content)
+    })
+    @GetMapping("/hires")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
+    public Flux<HireBucketDTO> getHires(
+            @Parameter(description = "Periodo de agrupación") @RequestParam(defaultValue = "MONTH") HirePeriod period,
+            @Parameter(description = "Primera fecha de contratación (yyyy-MM-dd); por defecto un año antes de la última")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Última fecha de contratación (yyyy-MM-dd); por defecto hoy")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Puesto a analizar") @RequestParam(required = false) String puesto) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        return hireAnalyticsService.getHires(period, start, end, puesto);
+    }
+}
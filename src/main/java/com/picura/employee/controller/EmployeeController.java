@@ -1,6 +1,11 @@
 package com.picura.employee.controller;
 
+import com.picura.employee.dto.BulkResultDTO;
 import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.dto.EmployeePageDTO;
+import com.picura.employee.dto.SalaryExtremesDTO;
+import com.picura.employee.repository.EmployeeProjection;
+import com.picura.employee.repository.EmployeeSortField;
 import com.picura.employee.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,18 +16,25 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
 
 /**
  * REST controller for managing Employee resources.
@@ -36,45 +48,145 @@ import jakarta.validation.constraints.Positive;
 @RequiredArgsConstructor
 public class EmployeeController {
 
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    private static final String APPLICATION_STREAM_SMILE_VALUE = "application/stream+x-jackson-smile";
+
     private final EmployeeService employeeService;
 
     /**
      * Retrieves all employees.
+     * Besides JSON, the response can be negotiated as CBOR or Smile through the Accept header.
      * This endpoint is accessible only to users with ADMIN or HR roles.
      *
+     * @param fields Comma-separated fields to return, all of them by default
      * @return A Flux of EmployeeDTO representing all employees
      */
     @Operation(summary = "Obtener todos los empleados", description = "Retorna un flujo de todos los empleados registrados")
     @ApiResponse(responseCode = "200", description = "Operación exitosa", 
                  content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, 
                  schema = @Schema(implementation = EmployeeDTO.class)))
-    @GetMapping(produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(produces = {MediaType.APPLICATION_STREAM_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+                            APPLICATION_SMILE_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
+    public Flux<EmployeeDTO> getAllEmployees(
+            @Parameter(description = "Campos a devolver separados por comas (id, nombre, puesto, salario, fechaContratacion); por defecto todos")
+            @RequestParam(required = false) String fields) {
+        return employeeService.getAllEmployees(PageRequest.of(0, 10), EmployeeProjection.parse(fields));
+    }
+
+    /**
+     * Retrieves a page of employees using keyset (cursor) pagination.
+     * Each page costs the same regardless of its depth, since it is served by an index range scan.
+     * This endpoint is accessible only to users with ADMIN or HR roles.
+     *
+     * @param size The maximum number of employees in the page
+     * @param sort The sort key used for the first page
+     * @param direction The sort direction used for the first page
+     * @param cursor The cursor returned with the previous page
+     * @return A Mono of EmployeePageDTO with the page content and the next cursor
+     */
+    @Operation(summary = "Obtener empleados paginados por cursor",
+               description = "Retorna una página de empleados y un cursor opaco para solicitar la siguiente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                     schema = @Schema(implementation = EmployeePageDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido",
+                     content = @Content)
+    })
+    @GetMapping(value = "/page", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
-    public Flux<EmployeeDTO> getAllEmployees() {
-        return employeeService.getAllEmployees(PageRequest.of(0, 10));
+    public Mono<EmployeePageDTO> getEmployeesPage(
+            @Parameter(description = "Tamaño de la página") @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int size,
+            @Parameter(description = "Campo de ordenamiento") @RequestParam(defaultValue = "ID") EmployeeSortField sort,
+            @Parameter(description = "Dirección de ordenamiento") @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Cursor de la página anterior") @RequestParam(required = false) String cursor) {
+        return employeeService.getEmployeesPage(sort, direction, size, cursor);
     }
 
     /**
-     * Retrieves an employee by their ID.
+     * Exports every employee as an NDJSON stream.
+     * The response is produced from a single Mongo cursor with end-to-end backpressure,
+     * so it can stream the whole collection without buffering it in memory.
+     * This endpoint is accessible only to users with ADMIN or HR roles.
+     *
+     * @return A Flux of EmployeeDTO with all employees
+     */
+    @Operation(summary = "Exportar todos los empleados", description = "Retorna todos los empleados como un flujo NDJSON")
+    @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                 content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                 schema = @Schema(implementation = EmployeeDTO.class)))
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
+    public Flux<EmployeeDTO> exportEmployees() {
+        return employeeService.exportEmployees();
+    }
+
+    /**
+     * Retrieves an employee by their ID, with its version as ETag.
+     * When If-None-Match is sent, only the version is read first, and an unchanged employee is answered
+     * with 304 Not Modified without loading, mapping or serializing it; a changed employee is read again
+     * past the cache so that the body is at least as recent as the version compared.
      * This endpoint is accessible to ADMIN, HR, or the employee themselves.
      *
      * @param id The ID of the employee to retrieve
-     * @return A Mono of EmployeeDTO representing the requested employee
+     * @param ifNoneMatch Entity tags the client already has
+     * @return A Mono of ResponseEntity with the requested employee, or 304 if it has not changed
      */
-    @Operation(summary = "Obtener un empleado por ID", description = "Retorna un empleado basado en su ID")
+    @Operation(summary = "Obtener un empleado por ID", description = "Retorna un empleado basado en su ID, con su versión como ETag")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Empleado encontrado", 
                      content = @Content(mediaType = "application/json", 
                      schema = @Schema(implementation = EmployeeDTO.class))),
+        @ApiResponse(responseCode = "304", description = "El empleado no cambió desde el ETag enviado en If-None-Match",
+                     content = @Content),
         @ApiResponse(responseCode = "404", description = "Empleado no encontrado", 
                      content = @Content)
     })
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR') or @securityService.isEmployeeOwner(#id)")
-    public Mono<EmployeeDTO> getEmployeeById(
+    public Mono<ResponseEntity<EmployeeDTO>> getEmployeeById(
             @Parameter(description = "ID del empleado a buscar") 
-            @PathVariable @NotBlank String id) {
-        return employeeService.getEmployeeById(id);
+            @PathVariable @NotBlank String id,
+            @Parameter(description = "ETags conocidos por el cliente")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return employeeService.getEmployeeById(id).map(employee -> withETag(HttpStatus.OK, employee));
+        }
+        return employeeService.getEmployeeVersion(id).flatMap(version -> {
+            String etag = EmployeeETags.of(version);
+            if (EmployeeETags.noneMatchFails(ifNoneMatch, etag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<EmployeeDTO>build());
+            }
+            // The cached employee may predate the version just read; the body and its ETag come from a fresh read
+            return employeeService.reloadEmployeeById(id).map(employee -> withETag(HttpStatus.OK, employee));
+        });
+    }
+
+    /**
+     * Retrieves many employees by their IDs with a single query.
+     * Employees are streamed in the order of the requested IDs; unknown IDs are skipped
+     * and repeated IDs are returned once.
+     * This endpoint is accessible only to users with ADMIN or HR roles.
+     *
+     * @param ids The IDs of the employees to retrieve
+     * @return A Flux of EmployeeDTO with the employees found, in request order
+     */
+    @Operation(summary = "Obtener varios empleados por ID",
+               description = "Retorna como flujo NDJSON los empleados encontrados, en el orden de los IDs solicitados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                     content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                     schema = @Schema(implementation = EmployeeDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Lista de IDs vacía o con más de 500 elementos",
+                     content = @Content)
+    })
+    @GetMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
+    public Flux<EmployeeDTO> getEmployeesByIds(
+            @Parameter(description = "IDs de los empleados, separados por comas")
+            @RequestParam @Size(min = 1, max = 500) List<@NotBlank String> ids) {
+        return employeeService.getEmployeesByIds(ids);
     }
 
     /**
@@ -82,18 +194,38 @@ public class EmployeeController {
      * This endpoint is accessible only to users with ADMIN or HR roles.
      *
      * @param employeeDTO The EmployeeDTO containing the new employee's information
-     * @return A Mono of EmployeeDTO representing the created employee
+     * @return A Mono of ResponseEntity with the created employee and its ETag
      */
     @Operation(summary = "Crear un nuevo empleado", description = "Crea un nuevo empleado y lo retorna")
     @ApiResponse(responseCode = "201", description = "Empleado creado exitosamente", 
                  content = @Content(mediaType = "application/json", 
                  schema = @Schema(implementation = EmployeeDTO.class)))
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
-    public Mono<EmployeeDTO> createEmployee(
+    public Mono<ResponseEntity<EmployeeDTO>> createEmployee(
             @Parameter(description = "Empleado a crear") @Valid @RequestBody EmployeeDTO employeeDTO) {
-        return employeeService.createEmployee(employeeDTO);
+        return employeeService.createEmployee(employeeDTO).map(employee -> withETag(HttpStatus.CREATED, employee));
+    }
+
+    /**
+     * Creates or replaces employees in bulk from an NDJSON stream.
+     * Records are validated individually and written in unordered bulk batches; one result per
+     * record is streamed back as soon as its batch is acknowledged.
+     * This endpoint is accessible only to users with ADMIN or HR roles.
+     *
+     * @param employees A Flux of EmployeeDTO records read from the NDJSON request body
+     * @return A Flux of BulkResultDTO with the outcome of every record, in input order
+     */
+    @Operation(summary = "Carga masiva de empleados",
+               description = "Crea o reemplaza empleados a partir de un flujo NDJSON y retorna el resultado de cada registro")
+    @ApiResponse(responseCode = "200", description = "Carga procesada",
+                 content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                 schema = @Schema(implementation = BulkResultDTO.class)))
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
+    public Flux<BulkResultDTO> bulkUpsertEmployees(
+            @Parameter(description = "Flujo NDJSON de empleados a crear o reemplazar") @RequestBody Flux<EmployeeDTO> employees) {
+        return employeeService.bulkUpsertEmployees(employees);
     }
 
     /**
@@ -102,7 +234,8 @@ public class EmployeeController {
      *
      * @param id The ID of the employee to update
      * @param employeeDTO The EmployeeDTO containing the updated employee information
-     * @return A Mono of EmployeeDTO representing the updated employee
+     * @param ifMatch ETag the employee must still have for the update to apply
+     * @return A Mono of ResponseEntity with the updated employee and its new ETag
      */
     @Operation(summary = "Actualizar un empleado existente", description = "Actualiza un empleado existente basado en su ID")
     @ApiResponses(value = {
@@ -110,14 +243,19 @@ public class EmployeeController {
                      content = @Content(mediaType = "application/json", 
                      schema = @Schema(implementation = EmployeeDTO.class))),
         @ApiResponse(responseCode = "404", description = "Empleado no encontrado", 
+                     content = @Content),
+        @ApiResponse(responseCode = "412", description = "El empleado cambió desde el ETag enviado en If-Match",
                      content = @Content)
     })
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
-    public Mono<EmployeeDTO> updateEmployee(
+    public Mono<ResponseEntity<EmployeeDTO>> updateEmployee(
             @Parameter(description = "ID del empleado a actualizar") @PathVariable @NotBlank String id,
-            @Parameter(description = "Datos actualizados del empleado") @Valid @RequestBody EmployeeDTO employeeDTO) {
-        return employeeService.updateEmployee(id, employeeDTO);
+            @Parameter(description = "Datos actualizados del empleado") @Valid @RequestBody EmployeeDTO employeeDTO,
+            @Parameter(description = "ETag que el empleado debe conservar para aplicar la actualización")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return employeeService.updateEmployee(id, employeeDTO, EmployeeETags.expectedVersion(ifMatch))
+                .map(employee -> withETag(HttpStatus.OK, employee));
     }
 
     /**
@@ -143,20 +281,27 @@ public class EmployeeController {
 
     /**
      * Searches for employees by name.
+     * Besides JSON, the response can be negotiated as CBOR or Smile through the Accept header.
      * This endpoint is accessible only to users with ADMIN or HR roles.
      *
      * @param query The search query string
-     * @return A Flux of EmployeeDTO representing the employees matching the search criteria
+     * @param limit The maximum number of results
+     * @param fields Comma-separated fields to return, all of them by default
+     * @return A Flux of EmployeeDTO representing the employees matching the search criteria, most relevant first
      */
-    @Operation(summary = "Buscar empleados", description = "Busca empleados por nombre")
+    @Operation(summary = "Buscar empleados",
+               description = "Busca empleados por nombre, sin distinguir mayúsculas ni acentos, ordenados por relevancia")
     @ApiResponse(responseCode = "200", description = "Operación exitosa", 
                  content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, 
                  schema = @Schema(implementation = EmployeeDTO.class)))
     @GetMapping("/search")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
     public Flux<EmployeeDTO> searchEmployees(
-            @Parameter(description = "Término de búsqueda") @RequestParam String query) {
-        return employeeService.searchEmployees(query);
+            @Parameter(description = "Término de búsqueda") @RequestParam String query,
+            @Parameter(description = "Número máximo de resultados") @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit,
+            @Parameter(description = "Campos a devolver separados por comas (id, nombre, puesto, salario, fechaContratacion); por defecto todos")
+            @RequestParam(required = false) String fields) {
+        return employeeService.searchEmployees(query, limit, EmployeeProjection.parse(fields));
     }
 
     /**
@@ -166,7 +311,8 @@ public class EmployeeController {
      * @param id The ID of the employee to promote
      * @param newPosition The new position for the employee
      * @param salaryIncrease The amount of salary increase
-     * @return A Mono of EmployeeDTO representing the promoted employee
+     * @param ifMatch ETag the employee must still have for the promotion to apply
+     * @return A Mono of ResponseEntity with the promoted employee and its new ETag
      */
     @Operation(summary = "Promover empleado", description = "Promociona a un empleado a una nueva posición con aumento de salario")
     @ApiResponses(value = {
@@ -174,22 +320,29 @@ public class EmployeeController {
                      content = @Content(mediaType = "application/json", 
                      schema = @Schema(implementation = EmployeeDTO.class))),
         @ApiResponse(responseCode = "404", description = "Empleado no encontrado", 
+                     content = @Content),
+        @ApiResponse(responseCode = "412", description = "El empleado cambió desde el ETag enviado en If-Match",
                      content = @Content)
     })
     @PutMapping("/{id}/promote")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public Mono<EmployeeDTO> promoteEmployee(
+    public Mono<ResponseEntity<EmployeeDTO>> promoteEmployee(
             @Parameter(description = "ID del empleado a promover") @PathVariable @NotBlank String id,
             @Parameter(description = "Nueva posición") @RequestParam @NotBlank String newPosition,
-            @Parameter(description = "Aumento de salario") @RequestParam @Positive double salaryIncrease) {
-        return employeeService.promoteEmployee(id, newPosition, salaryIncrease);
+            @Parameter(description = "Aumento de salario") @RequestParam @Positive double salaryIncrease,
+            @Parameter(description = "ETag que el empleado debe conservar para aplicar la promoción")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return employeeService.promoteEmployee(id, newPosition, salaryIncrease, EmployeeETags.expectedVersion(ifMatch))
+                .map(employee -> withETag(HttpStatus.OK, employee));
     }
 
     /**
      * Retrieves the top-earning employees.
+     * Besides JSON, the response can be negotiated as CBOR or Smile through the Accept header.
      * This endpoint is accessible only to users with ADMIN or HR roles.
      *
      * @param limit The number of top earners to retrieve
+     * @param fields Comma-separated fields to return, all of them by default
      * @return A Flux of EmployeeDTO representing the top-earning employees
      */
     @Operation(summary = "Obtener los mejores pagados", description = "Obtiene los empleados con los salarios más altos")
@@ -199,41 +352,57 @@ public class EmployeeController {
     @GetMapping("/top-earners")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
     public Flux<EmployeeDTO> getTopEarners(
-            @Parameter(description = "Límite de resultados") @RequestParam(defaultValue = "5") int limit) {
-        return employeeService.getTopEarners(limit);
+            @Parameter(description = "Límite de resultados") @RequestParam(defaultValue = "5") int limit,
+            @Parameter(description = "Campos a devolver separados por comas (id, nombre, puesto, salario, fechaContratacion); por defecto todos")
+            @RequestParam(required = false) String fields) {
+        return employeeService.getTopEarners(limit, EmployeeProjection.parse(fields));
     }
 
     /**
      * Retrieves the employees with the minimum and maximum salaries.
      * This endpoint is accessible only to users with ADMIN or HR roles.
      *
-     * @return A Mono of Tuple2 containing EmployeeDTO with minimum and maximum salaries
+     * @return A Mono of SalaryExtremesDTO with the employees with minimum and maximum salaries
      */
     @Operation(summary = "Obtener empleados con salario mínimo y máximo", description = "Retorna los empleados con el salario más bajo y más alto")
-    @ApiResponse(responseCode = "200", description = "Operación exitosa", 
-                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, 
-                 schema = @Schema(implementation = EmployeeDTO.class)))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operación exitosa",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                     schema = @Schema(implementation = SalaryExtremesDTO.class))),
+        @ApiResponse(responseCode = "404", description = "No hay empleados registrados",
+                     content = @Content)
+    })
     @GetMapping("/salary-extremes")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
-    public Mono<Tuple2<EmployeeDTO, EmployeeDTO>> getEmployeesWithMinMaxSalary() {
+    public Mono<SalaryExtremesDTO> getEmployeesWithMinMaxSalary() {
         return employeeService.getEmployeesWithMinMaxSalary();
     }
 
     /**
-     * Retrieves recently hired employees.
+     * Retrieves recently hired employees, most recent first.
      * This endpoint is accessible only to users with ADMIN or HR roles.
      *
      * @param months The number of months to consider for recent hires
+     * @param puesto The position to restrict the results to, all positions by default
+     * @param fields Comma-separated fields to return, all of them by default
      * @return A Flux of EmployeeDTO representing recently hired employees
      */
-    @Operation(summary = "Obtener contrataciones recientes", description = "Obtiene los empleados contratados en los últimos meses especificados")
+    @Operation(summary = "Obtener contrataciones recientes",
+               description = "Obtiene los empleados contratados en los últimos meses especificados, de la más reciente a la más antigua")
     @ApiResponse(responseCode = "200", description = "Operación exitosa", 
                  content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, 
                  schema = @Schema(implementation = EmployeeDTO.class)))
     @GetMapping("/recent-hires")
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_HR')")
     public Flux<EmployeeDTO> getRecentHires(
-            @Parameter(description = "Número de meses") @RequestParam(defaultValue = "6") int months) {
-        return employeeService.getRecentHires(months);
+            @Parameter(description = "Número de meses") @RequestParam(defaultValue = "6") @Min(0) @Max(600) int months,
+            @Parameter(description = "Puesto a filtrar; por defecto todos") @RequestParam(required = false) String puesto,
+            @Parameter(description = "Campos a devolver separados por comas (id, nombre, puesto, salario, fechaContratacion); por defecto todos")
+            @RequestParam(required = false) String fields) {
+        return employeeService.getRecentHires(months, puesto, EmployeeProjection.parse(fields));
+    }
+
+    private ResponseEntity<EmployeeDTO> withETag(HttpStatus status, EmployeeDTO employee) {
+        return ResponseEntity.status(status).eTag(EmployeeETags.of(employee.getVersion())).body(employee);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package com.picura.employee.controller;
+
+import com.picura.employee.exception.VersionConflictException;
+
+/**
+ * Conversions between employee versions and HTTP entity tags.
+ * The entity tag of an employee is its version in quotes, so a tag can be checked against the
+ * version-only projection without loading the employee.
+ */
+final class EmployeeETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private EmployeeETags() {
+    }
+
+    /**
+     * Builds the strong entity tag of a version. Unversioned employees are at version 0.
+     *
+     * @param version The employee version, possibly null
+     * @return The quoted entity tag
+     */
+    static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Evaluates an If-None-Match header with the weak comparison it calls for.
+     *
+     * @param ifNoneMatch The header value, a list of entity tags or *
+     * @param etag The current entity tag
+     * @return true if the client already has the current representation
+     */
+    static boolean noneMatchFails(String ifNoneMatch, String etag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith(WEAK_PREFIX)) {
+                candidate = candidate.substring(WEAK_PREFIX.length());
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the version expected by an If-Match header.
+     *
+     * @param ifMatch The header value, or null if absent
+     * @return The expected version, or null if there is no precondition on the version
+     * @throws VersionConflictException if the header is not a single strong entity tag of a version,
+     *         which can never match
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Falls through to the conflict below
+            }
+        }
+        throw new VersionConflictException("If-Match must be a single strong entity tag of an employee version: " + ifMatch);
+    }
+}
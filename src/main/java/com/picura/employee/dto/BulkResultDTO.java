@@ -0,0 +1,34 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado de la carga masiva de un registro de empleado")
+public class BulkResultDTO {
+
+    @Schema(description = "Posición del registro dentro del flujo de entrada, comenzando en 0", example = "0")
+    private long index;
+
+    @Schema(description = "ID del empleado creado o actualizado", example = "123e4567-e89b-12d3-a456-426614174000")
+    private String id;
+
+    @Schema(description = "Estado del registro", example = "CREATED")
+    private Status status;
+
+    @Schema(description = "Detalle del error cuando el registro no se pudo escribir", example = "El nombre es obligatorio")
+    private String message;
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        INVALID,
+        FAILED
+    }
+}
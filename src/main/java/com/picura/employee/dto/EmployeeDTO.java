@@ -1,6 +1,7 @@
 package com.picura.employee.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -14,7 +15,8 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Schema(description = "Representación de un empleado para transferencia de datos")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Representación de un empleado para transferencia de datos. Con el parámetro fields solo se incluyen los campos solicitados")
 public class EmployeeDTO {
 
     @Schema(description = "ID único del empleado", example = "123e4567-e89b-12d3-a456-426614174000")
@@ -32,10 +34,14 @@ public class EmployeeDTO {
     @NotNull(message = "El salario es obligatorio")
     @Positive(message = "El salario debe ser un valor positivo")
     @Schema(description = "Salario del empleado", example = "50000.00")
-    private double salario;
+    private Double salario;
 
     @NotNull(message = "La fecha de contratación es obligatoria")
     @JsonFormat(pattern = "yyyy-MM-dd")
     @Schema(description = "Fecha de contratación del empleado", example = "2023-01-15")
     private LocalDate fechaContratacion;
+
+    @Schema(description = "Versión del empleado; se devuelve también como ETag y se puede enviar en If-Match",
+            example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
 }
\ No newline at end of file
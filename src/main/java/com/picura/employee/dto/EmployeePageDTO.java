@@ -0,0 +1,27 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Página de empleados obtenida mediante paginación por cursor")
+public class EmployeePageDTO {
+
+    @Schema(description = "Empleados de la página")
+    private List<EmployeeDTO> content;
+
+    @Schema(description = "Cursor opaco para solicitar la siguiente página, nulo si no hay más resultados",
+            example = "U0FMQVJJTw.REVTQw.NTAwMDAuMA.MTIzZTQ1Njc")
+    private String nextCursor;
+
+    @Schema(description = "Indica si existen más resultados después de esta página", example = "true")
+    private boolean hasMore;
+}
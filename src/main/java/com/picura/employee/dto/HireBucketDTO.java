@@ -0,0 +1,25 @@
+package com.picura.employee.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Contrataciones de un periodo (día, semana o mes)")
+public class HireBucketDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "Primer día del periodo; las semanas empiezan en lunes", example = "2024-03-01")
+    private LocalDate start;
+
+    @Schema(description = "Número de empleados contratados en el periodo", example = "4")
+    private long count;
+}
@@ -0,0 +1,23 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Operaciones del servicio de empleados que más tiempo consumen")
+public class OperationReportDTO {
+
+    @Schema(description = "Operaciones ordenadas por tiempo total acumulado, de mayor a menor")
+    private List<OperationSummaryDTO> hottest;
+
+    @Schema(description = "Operaciones ordenadas por percentil 99 de la latencia, de mayor a menor")
+    private List<OperationSummaryDTO> slowest;
+}
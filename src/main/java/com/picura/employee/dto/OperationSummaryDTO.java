@@ -0,0 +1,45 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resumen de las métricas de una operación del servicio de empleados")
+public class OperationSummaryDTO {
+
+    @Schema(description = "Nombre de la operación", example = "getEmployeeById")
+    private String operation;
+
+    @Schema(description = "Número de ejecuciones terminadas")
+    private long count;
+
+    @Schema(description = "Ejecuciones terminadas con error")
+    private long errors;
+
+    @Schema(description = "Ejecuciones canceladas por el suscriptor")
+    private long cancellations;
+
+    @Schema(description = "Invocaciones del método de respaldo")
+    private long fallbacks;
+
+    @Schema(description = "Tiempo total acumulado en milisegundos")
+    private double totalTimeMs;
+
+    @Schema(description = "Latencia media en milisegundos")
+    private double meanMs;
+
+    @Schema(description = "Percentil 99 de la latencia en milisegundos, en la ventana reciente")
+    private double p99Ms;
+
+    @Schema(description = "Latencia máxima en milisegundos, en la ventana reciente")
+    private double maxMs;
+
+    @Schema(description = "Media de elementos emitidos por ejecución")
+    private double meanElements;
+}
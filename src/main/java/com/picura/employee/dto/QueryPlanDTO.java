@@ -0,0 +1,47 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Plan de ejecución de una consulta del repositorio de empleados")
+public class QueryPlanDTO {
+
+    @Schema(description = "Método del repositorio que emite la consulta", example = "findByPuesto")
+    private String method;
+
+    @Schema(description = "Filtro de la consulta con valores de ejemplo")
+    private String filter;
+
+    @Schema(description = "Orden de la consulta")
+    private String sort;
+
+    @Schema(description = "Etapas del plan ganador, de la raíz a las hojas", example = "[\"FETCH\", \"IXSCAN\"]")
+    private List<String> stages;
+
+    @Schema(description = "Índices usados por el plan ganador", example = "[\"puesto_salario_idx\"]")
+    private List<String> indexes;
+
+    @Schema(description = "Indica si el plan recorre toda la colección")
+    private boolean collectionScan;
+
+    @Schema(description = "Indica si el plan ordena en memoria")
+    private boolean inMemorySort;
+
+    @Schema(description = "Indica si la consulta recorre la colección por diseño")
+    private boolean scanExpected;
+
+    @Schema(description = "Indica si el plan es aceptable")
+    private boolean ok;
+
+    @Schema(description = "Error al obtener el plan, si lo hubo")
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Empleados con el salario más bajo y más alto")
+public class SalaryExtremesDTO {
+
+    @Schema(description = "Empleado con el salario más bajo")
+    private EmployeeDTO lowestPaid;
+
+    @Schema(description = "Empleado con el salario más alto")
+    private EmployeeDTO highestPaid;
+}
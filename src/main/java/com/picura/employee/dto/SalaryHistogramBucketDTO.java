@@ -0,0 +1,24 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Intervalo de un histograma salarial")
+public class SalaryHistogramBucketDTO {
+
+    @Schema(description = "Límite inferior del intervalo (incluido)", example = "40000.00")
+    private double lowerBound;
+
+    @Schema(description = "Límite superior del intervalo (excluido, salvo en el último intervalo)", example = "50000.00")
+    private double upperBound;
+
+    @Schema(description = "Número de empleados en el intervalo", example = "17")
+    private long count;
+}
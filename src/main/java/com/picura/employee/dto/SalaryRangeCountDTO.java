@@ -0,0 +1,27 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Número de empleados dentro de un rango salarial")
+public class SalaryRangeCountDTO {
+
+    @Schema(description = "Salario mínimo del rango (incluido)", example = "40000.00")
+    private double minSalary;
+
+    @Schema(description = "Salario máximo del rango (incluido)", example = "60000.00")
+    private double maxSalary;
+
+    @Schema(description = "Número de empleados dentro del rango", example = "31")
+    private int count;
+
+    @Schema(description = "Número total de empleados", example = "96")
+    private int total;
+}
@@ -0,0 +1,30 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Posición salarial de un empleado entre todos los empleados")
+public class SalaryRankDTO {
+
+    @Schema(description = "ID del empleado", example = "123e4567-e89b-12d3-a456-426614174000")
+    private String id;
+
+    @Schema(description = "Salario del empleado", example = "50000.00")
+    private double salario;
+
+    @Schema(description = "Posición por salario descendente; 1 es el salario más alto y los salarios iguales comparten posición", example = "12")
+    private int rank;
+
+    @Schema(description = "Porcentaje de empleados con menor salario, contando los salarios iguales como la mitad", example = "87.5")
+    private double percentile;
+
+    @Schema(description = "Número total de empleados", example = "96")
+    private int total;
+}
@@ -0,0 +1,38 @@
+package com.picura.employee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Estadísticas salariales de un puesto")
+public class SalaryStatsDTO {
+
+    @Schema(description = "Puesto", example = "Desarrollador Senior")
+    private String puesto;
+
+    @Schema(description = "Número de empleados en el puesto", example = "42")
+    private long headcount;
+
+    @Schema(description = "Salario promedio", example = "52000.00")
+    private double averageSalary;
+
+    @Schema(description = "Salario mínimo", example = "38000.00")
+    private double minSalary;
+
+    @Schema(description = "Salario máximo", example = "81000.00")
+    private double maxSalary;
+
+    @Schema(description = "Mediana del salario", example = "50500.00")
+    private double medianSalary;
+
+    @Schema(description = "Percentiles solicitados, indexados por nombre (p25, p90, ...)", example = "{\"p25\": 44000.0, \"p90\": 70000.0}")
+    private Map<String, Double> percentiles;
+}
@@ -2,17 +2,30 @@ package com.picura.employee.entity;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Data
 @Document(collection = "employees")
+@CompoundIndexes({
+    @CompoundIndex(name = "nombre_id_idx", def = "{ 'nombre': 1, '_id': 1 }"),
+    @CompoundIndex(name = "salario_id_idx", def = "{ 'salario': 1, '_id': 1 }"),
+    @CompoundIndex(name = "fechaContratacion_id_idx", def = "{ 'fechaContratacion': 1, '_id': 1 }"),
+    @CompoundIndex(name = "puesto_salario_idx", def = "{ 'puesto': 1, 'salario': -1 }"),
+    @CompoundIndex(name = "puesto_fechaContratacion_id_idx", def = "{ 'puesto': 1, 'fechaContratacion': 1, '_id': 1 }"),
+    @CompoundIndex(name = "searchKey_id_idx", def = "{ 'searchKey': 1, '_id': 1 }")
+})
 @Schema(description = "Entidad que representa a un empleado")
 public class Employee {
     @Id
@@ -33,4 +46,15 @@ public class Employee {
 
     @Schema(description = "Fecha de contratación del empleado", example = "2023-01-15")
     private LocalDate fechaContratacion;
+
+    @Version
+    @Schema(description = "Versión del documento, incrementada en cada modificación", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
+    @Schema(description = "Nombre normalizado para búsquedas", accessMode = Schema.AccessMode.READ_ONLY, hidden = true)
+    private String searchKey;
+
+    @Indexed(name = "searchTokens_idx")
+    @Schema(description = "Prefijos y trigramas del nombre normalizado", accessMode = Schema.AccessMode.READ_ONLY, hidden = true)
+    private List<String> searchTokens;
 }
\ No newline at end of file
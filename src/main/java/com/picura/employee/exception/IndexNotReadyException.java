@@ -0,0 +1,14 @@
+package com.picura.employee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class IndexNotReadyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IndexNotReadyException(String message) {
+        super(message);
+    }
+}
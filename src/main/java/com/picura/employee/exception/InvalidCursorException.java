@@ -0,0 +1,21 @@
+package com.picura.employee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String cursor;
+
+    public InvalidCursorException(String cursor) {
+        super(String.format("Invalid pagination cursor: '%s'", cursor));
+        this.cursor = cursor;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+}
@@ -0,0 +1,21 @@
+package com.picura.employee.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldsException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String fields;
+
+    public InvalidFieldsException(String fields) {
+        super(String.format("Invalid fields selection: '%s'", fields));
+        this.fields = fields;
+    }
+
+    public String getFields() {
+        return fields;
+    }
+}
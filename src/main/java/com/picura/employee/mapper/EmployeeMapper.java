@@ -2,6 +2,8 @@ package com.picura.employee.mapper;
 
 import com.picura.employee.dto.EmployeeDTO;
 import com.picura.employee.entity.Employee;
+import com.picura.employee.repository.EmployeeField;
+import com.picura.employee.repository.EmployeeProjection;
 
 import org.mapstruct.*;
 import reactor.core.publisher.Flux;
@@ -12,15 +14,51 @@ import reactor.core.publisher.Mono;
 public interface EmployeeMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "searchKey", ignore = true)
+    @Mapping(target = "searchTokens", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Employee toEntity(EmployeeDTO dto);
 
     EmployeeDTO toDTO(Employee entity);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "searchKey", ignore = true)
+    @Mapping(target = "searchTokens", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDTO(EmployeeDTO dto, @MappingTarget Employee entity);
 
 
+    /**
+     * Maps only the fields of a projection; the others are left null and omitted from the response.
+     *
+     * @param entity The employee, possibly read with the same projection
+     * @param projection The requested fields
+     * @return The partially populated EmployeeDTO
+     */
+    default EmployeeDTO toDTO(Employee entity, EmployeeProjection projection) {
+        if (projection.isAll()) {
+            return toDTO(entity);
+        }
+        EmployeeDTO dto = new EmployeeDTO();
+        if (projection.includes(EmployeeField.ID)) {
+            dto.setId(entity.getId());
+        }
+        if (projection.includes(EmployeeField.NOMBRE)) {
+            dto.setNombre(entity.getNombre());
+        }
+        if (projection.includes(EmployeeField.PUESTO)) {
+            dto.setPuesto(entity.getPuesto());
+        }
+        if (projection.includes(EmployeeField.SALARIO)) {
+            dto.setSalario(entity.getSalario());
+        }
+        if (projection.includes(EmployeeField.FECHA_CONTRATACION)) {
+            dto.setFechaContratacion(entity.getFechaContratacion());
+        }
+        return dto;
+    }
+
     default Mono<Employee> toEntityMono(Mono<EmployeeDTO> dtoMono) {
         return dtoMono.map(this::toEntity);
     }
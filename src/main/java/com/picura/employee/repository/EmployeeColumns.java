@@ -0,0 +1,402 @@
+package com.picura.employee.repository;
+
+import com.picura.employee.entity.Employee;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable columnar snapshot of the employee roster used by {@link InMemoryEmployeeRepository}.
+ * Each field is stored in its own array indexed by row: salaries as doubles, hiring dates as epoch days
+ * and positions dictionary-encoded as ints. Secondary indexes are row permutations sorted by
+ * { field, id }, the rows of every position sorted by salary descending, and posting lists of search tokens.
+ * Writes produce a new snapshot, so readers never observe a partially applied change.
+ */
+final class EmployeeColumns {
+
+    static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int NULL_CODE = -1;
+    private static final int FORMAT_VERSION = 2;
+    // Format 1 had no version column; its employees are read at version 0
+    private static final int UNVERSIONED_FORMAT = 1;
+
+    private final int size;
+    private final String[] ids;
+    private final String[] nombres;
+    private final int[] puestoCodes;
+    private final String[] puestoDictionary;
+    private final double[] salarios;
+    private final long[] fechas;
+    private final long[] versions;
+
+    private final Map<String, Integer> rowById;
+    private final int[] byId;
+    private final int[] byNombre;
+    private final int[] bySalario;
+    private final int[] byFecha;
+    private final int[][] byPuestoSalarioDesc;
+    private final int[] nullPuestoSalarioDesc;
+    private final Map<String, int[]> postings;
+
+    private EmployeeColumns(String[] ids, String[] nombres, int[] puestoCodes, String[] puestoDictionary,
+                            double[] salarios, long[] fechas, long[] versions) {
+        this.size = ids.length;
+        this.ids = ids;
+        this.nombres = nombres;
+        this.puestoCodes = puestoCodes;
+        this.puestoDictionary = puestoDictionary;
+        this.salarios = salarios;
+        this.fechas = fechas;
+        this.versions = versions;
+
+        this.rowById = new HashMap<>(size * 2);
+        for (int row = 0; row < size; row++) {
+            rowById.put(ids[row], row);
+        }
+        this.byId = sortedRows(Comparator.comparing(row -> ids[row]));
+        this.byNombre = sortedRows(Comparator.<Integer, String>comparing(row -> nombres[row], Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(row -> ids[row]));
+        this.bySalario = sortedRows(Comparator.<Integer>comparingDouble(row -> salarios[row]).thenComparing(row -> ids[row]));
+        this.byFecha = sortedRows(Comparator.<Integer>comparingLong(row -> fechas[row]).thenComparing(row -> ids[row]));
+
+        List<List<Integer>> puestoRows = new ArrayList<>();
+        for (int code = 0; code < puestoDictionary.length; code++) {
+            puestoRows.add(new ArrayList<>());
+        }
+        List<Integer> nullPuestoRows = new ArrayList<>();
+        for (int i = bySalario.length - 1; i >= 0; i--) {
+            int row = bySalario[i];
+            (puestoCodes[row] == NULL_CODE ? nullPuestoRows : puestoRows.get(puestoCodes[row])).add(row);
+        }
+        this.byPuestoSalarioDesc = puestoRows.stream().map(EmployeeColumns::toArray).toArray(int[][]::new);
+        this.nullPuestoSalarioDesc = toArray(nullPuestoRows);
+
+        Map<String, List<Integer>> tokenRows = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            for (String token : EmployeeSearchKeys.indexTokens(EmployeeSearchKeys.normalize(nombres[row]))) {
+                tokenRows.computeIfAbsent(token, key -> new ArrayList<>()).add(row);
+            }
+        }
+        this.postings = new HashMap<>(tokenRows.size() * 2);
+        tokenRows.forEach((token, rows) -> postings.put(token, toArray(rows)));
+    }
+
+    static EmployeeColumns empty() {
+        return new EmployeeColumns(new String[0], new String[0], new int[0], new String[0], new double[0], new long[0], new long[0]);
+    }
+
+    /**
+     * Returns a new snapshot with the given employees inserted or replaced by id and the given ids removed.
+     *
+     * @param upserts Employees to insert or replace
+     * @param removedIds Ids of employees to remove
+     * @return The new snapshot
+     */
+    EmployeeColumns with(Collection<Employee> upserts, Set<String> removedIds) {
+        Map<String, Employee> replacements = new LinkedHashMap<>();
+        upserts.forEach(employee -> replacements.put(employee.getId(), employee));
+        int capacity = size + replacements.size();
+        String[] newIds = new String[capacity];
+        String[] newNombres = new String[capacity];
+        int[] newPuestoCodes = new int[capacity];
+        double[] newSalarios = new double[capacity];
+        long[] newFechas = new long[capacity];
+        long[] newVersions = new long[capacity];
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (String puesto : puestoDictionary) {
+            dictionary.put(puesto, dictionary.size());
+        }
+
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (removedIds.contains(ids[row])) {
+                continue;
+            }
+            Employee replacement = replacements.remove(ids[row]);
+            if (replacement != null) {
+                set(count++, replacement, newIds, newNombres, newPuestoCodes, newSalarios, newFechas, newVersions, dictionary);
+            } else {
+                newIds[count] = ids[row];
+                newNombres[count] = nombres[row];
+                newPuestoCodes[count] = puestoCodes[row];
+                newSalarios[count] = salarios[row];
+                newFechas[count] = fechas[row];
+                newVersions[count] = versions[row];
+                count++;
+            }
+        }
+        for (Employee employee : replacements.values()) {
+            if (!removedIds.contains(employee.getId())) {
+                set(count++, employee, newIds, newNombres, newPuestoCodes, newSalarios, newFechas, newVersions, dictionary);
+            }
+        }
+        return new EmployeeColumns(Arrays.copyOf(newIds, count), Arrays.copyOf(newNombres, count),
+                Arrays.copyOf(newPuestoCodes, count), dictionary.keySet().toArray(String[]::new),
+                Arrays.copyOf(newSalarios, count), Arrays.copyOf(newFechas, count), Arrays.copyOf(newVersions, count));
+    }
+
+    private static void set(int row, Employee employee, String[] ids, String[] nombres, int[] puestoCodes,
+                            double[] salarios, long[] fechas, long[] versions, Map<String, Integer> dictionary) {
+        ids[row] = employee.getId();
+        nombres[row] = employee.getNombre();
+        puestoCodes[row] = employee.getPuesto() == null ? NULL_CODE
+                : dictionary.computeIfAbsent(employee.getPuesto(), puesto -> dictionary.size());
+        salarios[row] = employee.getSalario();
+        fechas[row] = employee.getFechaContratacion() == null ? NULL_DATE : employee.getFechaContratacion().toEpochDay();
+        versions[row] = employee.getVersion() == null ? 0 : employee.getVersion();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Materializes a row as an Employee entity.
+     *
+     * @param row The row
+     * @return A new Employee with the row's values
+     */
+    Employee employee(int row) {
+        Employee employee = new Employee();
+        employee.setId(ids[row]);
+        employee.setNombre(nombres[row]);
+        employee.setPuesto(puesto(row));
+        employee.setSalario(salarios[row]);
+        employee.setFechaContratacion(fechas[row] == NULL_DATE ? null : LocalDate.ofEpochDay(fechas[row]));
+        employee.setVersion(versions[row]);
+        return employee;
+    }
+
+    Integer row(String id) {
+        return rowById.get(id);
+    }
+
+    String id(int row) {
+        return ids[row];
+    }
+
+    String nombre(int row) {
+        return nombres[row];
+    }
+
+    String puesto(int row) {
+        return puestoCodes[row] == NULL_CODE ? null : puestoDictionary[puestoCodes[row]];
+    }
+
+    long version(int row) {
+        return versions[row];
+    }
+
+    double salario(int row) {
+        return salarios[row];
+    }
+
+    long fecha(int row) {
+        return fechas[row];
+    }
+
+    /**
+     * Returns the rows sorted ascending by the given key and then by id.
+     *
+     * @param sortField The sort key
+     * @return A row permutation; must not be modified
+     */
+    int[] sortedBy(EmployeeSortField sortField) {
+        return switch (sortField) {
+            case ID -> byId;
+            case NOMBRE -> byNombre;
+            case SALARIO -> bySalario;
+            case FECHA_CONTRATACION -> byFecha;
+        };
+    }
+
+    /**
+     * Compares a row with a keyset position.
+     *
+     * @param sortField The sort key
+     * @param row The row
+     * @param value The sort key value of the position, ignored for {@link EmployeeSortField#ID}
+     * @param id The id of the position
+     * @return A negative number, zero or a positive number as the row sorts before, at or after the position
+     */
+    int compare(EmployeeSortField sortField, int row, Object value, String id) {
+        int result = switch (sortField) {
+            case ID -> 0;
+            case NOMBRE -> Comparator.nullsFirst(Comparator.<String>naturalOrder()).compare(nombres[row], (String) value);
+            case SALARIO -> Double.compare(salarios[row], ((Number) value).doubleValue());
+            case FECHA_CONTRATACION -> Long.compare(fechas[row], value == null ? NULL_DATE : ((LocalDate) value).toEpochDay());
+        };
+        return result != 0 ? result : ids[row].compareTo(id);
+    }
+
+    /**
+     * Returns the rows of a position sorted by salary descending.
+     *
+     * @param puesto The position, or null for employees without one
+     * @return The rows; must not be modified
+     */
+    int[] rowsOfPuesto(String puesto) {
+        if (puesto == null) {
+            return nullPuestoSalarioDesc;
+        }
+        int code = Arrays.asList(puestoDictionary).indexOf(puesto);
+        return code < 0 ? new int[0] : byPuestoSalarioDesc[code];
+    }
+
+    /**
+     * Returns the distinct positions in ascending order, null first.
+     *
+     * @return The positions
+     */
+    List<String> puestos() {
+        List<String> puestos = new ArrayList<>();
+        if (nullPuestoSalarioDesc.length > 0) {
+            puestos.add(null);
+        }
+        for (int code = 0; code < puestoDictionary.length; code++) {
+            if (byPuestoSalarioDesc[code].length > 0) {
+                puestos.add(puestoDictionary[code]);
+            }
+        }
+        puestos.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        return puestos;
+    }
+
+    /**
+     * Returns the rows whose name contains all of the given search tokens, in row order.
+     *
+     * @param tokens The tokens computed by {@link EmployeeSearchKeys#queryTokens}
+     * @return The matching rows
+     */
+    int[] rowsWithTokens(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return new int[0];
+        }
+        int[][] lists = tokens.stream()
+                .map(token -> postings.getOrDefault(token, new int[0]))
+                .sorted(Comparator.comparingInt(list -> list.length))
+                .toArray(int[][]::new);
+        int[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private int[] sortedRows(Comparator<Integer> comparator) {
+        return IntStream.range(0, size).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] toArray(List<Integer> rows) {
+        return rows.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Writes the columns, one after another.
+     *
+     * @param out The stream to write to
+     * @throws IOException If the stream fails
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(size);
+        out.writeInt(puestoDictionary.length);
+        for (String puesto : puestoDictionary) {
+            out.writeUTF(puesto);
+        }
+        for (String id : ids) {
+            out.writeUTF(id);
+        }
+        for (String nombre : nombres) {
+            out.writeBoolean(nombre != null);
+            if (nombre != null) {
+                out.writeUTF(nombre);
+            }
+        }
+        for (int code : puestoCodes) {
+            out.writeInt(code);
+        }
+        for (double salario : salarios) {
+            out.writeDouble(salario);
+        }
+        for (long fecha : fechas) {
+            out.writeLong(fecha);
+        }
+        for (long version : versions) {
+            out.writeLong(version);
+        }
+    }
+
+    /**
+     * Reads columns written by {@link #writeTo}.
+     *
+     * @param in The stream to read from
+     * @return The snapshot
+     * @throws IOException If the stream fails or has an unknown format
+     */
+    static EmployeeColumns readFrom(DataInputStream in) throws IOException {
+        int format = in.readInt();
+        if (format != FORMAT_VERSION && format != UNVERSIONED_FORMAT) {
+            throw new IOException("Unsupported employee snapshot format " + format);
+        }
+        int size = in.readInt();
+        String[] dictionary = new String[in.readInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+        String[] ids = new String[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = in.readUTF();
+        }
+        String[] nombres = new String[size];
+        for (int i = 0; i < size; i++) {
+            nombres[i] = in.readBoolean() ? in.readUTF() : null;
+        }
+        int[] puestoCodes = new int[size];
+        for (int i = 0; i < size; i++) {
+            puestoCodes[i] = in.readInt();
+        }
+        double[] salarios = new double[size];
+        for (int i = 0; i < size; i++) {
+            salarios[i] = in.readDouble();
+        }
+        long[] fechas = new long[size];
+        for (int i = 0; i < size; i++) {
+            fechas[i] = in.readLong();
+        }
+        long[] versions = new long[size];
+        for (int i = 0; format != UNVERSIONED_FORMAT && i < size; i++) {
+            versions[i] = in.readLong();
+        }
+        return new EmployeeColumns(ids, nombres, puestoCodes, dictionary, salarios, fechas, versions);
+    }
+}
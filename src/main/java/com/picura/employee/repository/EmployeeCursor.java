@@ -0,0 +1,83 @@
+package com.picura.employee.repository;
+
+import com.picura.employee.entity.Employee;
+import com.picura.employee.exception.InvalidCursorException;
+import lombok.Value;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last element of a keyset page.
+ * A cursor carries the sort key, the direction, the last sort key value and the last id,
+ * and is exchanged with clients as an opaque URL-safe token.
+ * A null sort key value, such as a missing hiring date, is encoded apart from every real value.
+ */
+@Value
+public class EmployeeCursor {
+
+    private static final String SEPARATOR = ".";
+    // Outside the URL-safe Base64 alphabet, so it cannot be confused with an encoded value
+    private static final String NULL_VALUE = "~";
+
+    EmployeeSortField sortField;
+    Sort.Direction direction;
+    Object lastValue;
+    String lastId;
+
+    /**
+     * Builds the cursor pointing right after the given employee.
+     *
+     * @param employee The last employee of the current page
+     * @param sortField The sort key of the listing
+     * @param direction The sort direction of the listing
+     * @return The cursor for the next page
+     */
+    public static EmployeeCursor after(Employee employee, EmployeeSortField sortField, Sort.Direction direction) {
+        return new EmployeeCursor(sortField, direction, sortField.valueOf(employee), employee.getId());
+    }
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return The URL-safe token
+     */
+    public String encode() {
+        return String.join(SEPARATOR,
+                encodePart(sortField.name()),
+                encodePart(direction.name()),
+                lastValue == null ? NULL_VALUE : encodePart(sortField.format(lastValue)),
+                encodePart(lastId));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token The opaque token
+     * @return The decoded cursor
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static EmployeeCursor decode(String token) {
+        String[] parts = token.split("\\" + SEPARATOR, -1);
+        if (parts.length != 4) {
+            throw new InvalidCursorException(token);
+        }
+        try {
+            EmployeeSortField sortField = EmployeeSortField.valueOf(decodePart(parts[0]));
+            Sort.Direction direction = Sort.Direction.valueOf(decodePart(parts[1]));
+            Object lastValue = parts[2].equals(NULL_VALUE) ? null : sortField.parse(decodePart(parts[2]));
+            return new EmployeeCursor(sortField, direction, lastValue, decodePart(parts[3]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    private static String encodePart(String part) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(part.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePart(String part) {
+        return new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,39 @@
+package com.picura.employee.repository;
+
+/**
+ * Employee fields that can be requested through sparse fieldsets.
+ * The property name is both the JSON name of the field and the entity property mapped to Mongo.
+ */
+public enum EmployeeField {
+
+    ID("id"),
+    NOMBRE("nombre"),
+    PUESTO("puesto"),
+    SALARIO("salario"),
+    FECHA_CONTRATACION("fechaContratacion");
+
+    private final String property;
+
+    EmployeeField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Finds a field by its property name.
+     *
+     * @param property The property name, as written in the fields parameter
+     * @return The field, or null if there is none with that name
+     */
+    static EmployeeField fromProperty(String property) {
+        for (EmployeeField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.picura.employee.repository;
+
+import com.picura.employee.exception.InvalidFieldsException;
+import org.springframework.data.mongodb.core.query.Field;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Sparse fieldset of an employee read: the fields a client asked for, turned into a Mongo field
+ * projection so that unrequested fields are neither read from the server nor mapped.
+ * Instances are immutable and compare by their fields, so they can be part of cache keys.
+ */
+public final class EmployeeProjection {
+
+    /**
+     * Every field, the default when no fieldset is requested.
+     */
+    public static final EmployeeProjection ALL = new EmployeeProjection(EnumSet.allOf(EmployeeField.class));
+
+    private final Set<EmployeeField> fields;
+
+    private EmployeeProjection(Set<EmployeeField> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Parses a comma-separated list of field names such as {@code id,nombre}.
+     *
+     * @param fields The field names, or null or blank for every field
+     * @return The projection
+     * @throws InvalidFieldsException if a name is not a known field
+     */
+    public static EmployeeProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<EmployeeField> selected = EnumSet.noneOf(EmployeeField.class);
+        for (String name : fields.split(",", -1)) {
+            EmployeeField field = EmployeeField.fromProperty(name.trim());
+            if (field == null) {
+                throw new InvalidFieldsException(fields);
+            }
+            selected.add(field);
+        }
+        return selected.size() == EmployeeField.values().length ? ALL : new EmployeeProjection(selected);
+    }
+
+    /**
+     * Returns this projection extended with the given fields, for reads that need them internally.
+     *
+     * @param extra The fields to add
+     * @return The extended projection
+     */
+    public EmployeeProjection with(EmployeeField... extra) {
+        Set<EmployeeField> extended = EnumSet.copyOf(fields);
+        Collections.addAll(extended, extra);
+        return extended.equals(fields) ? this : new EmployeeProjection(extended);
+    }
+
+    public boolean includes(EmployeeField field) {
+        return fields.contains(field);
+    }
+
+    public boolean isAll() {
+        return fields.size() == EmployeeField.values().length;
+    }
+
+    /**
+     * Restricts the fields returned by a query to this projection. The id is excluded explicitly
+     * when not requested, since Mongo returns it by default.
+     *
+     * @param query The query to restrict
+     * @return The same query
+     */
+    Query applyTo(Query query) {
+        if (isAll()) {
+            return query;
+        }
+        Field projection = query.fields();
+        for (EmployeeField field : fields) {
+            projection.include(field.getProperty());
+        }
+        if (!includes(EmployeeField.ID)) {
+            projection.exclude(EmployeeField.ID.getProperty());
+        }
+        return query;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof EmployeeProjection projection && fields.equals(projection.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return fields.toString();
+    }
+}
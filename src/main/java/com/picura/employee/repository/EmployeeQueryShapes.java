@@ -0,0 +1,111 @@
+package com.picura.employee.repository;
+
+import org.bson.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Catalog of the filter and sort shapes issued by every {@link EmployeeRepository} query method.
+ * Each shape is explained by the queryplans actuator endpoint with sample values, so a query that falls
+ * back to a collection scan or an in-memory sort shows up before it reaches production.
+ * Shapes that scan the whole collection on purpose, such as exports, are marked as such.
+ */
+public final class EmployeeQueryShapes {
+
+    private static final String SAMPLE_ID = "00000000-0000-0000-0000-000000000000";
+    private static final String SAMPLE_PUESTO = "Desarrollador Senior";
+    private static final Date SAMPLE_DATE = Date.from(Instant.parse("2023-01-15T00:00:00Z"));
+
+    private static final List<QueryShape> SHAPES = createShapes();
+
+    private EmployeeQueryShapes() {
+    }
+
+    /**
+     * Returns every known query shape.
+     *
+     * @return An immutable list of query shapes
+     */
+    public static List<QueryShape> all() {
+        return SHAPES;
+    }
+
+    private static List<QueryShape> createShapes() {
+        List<QueryShape> shapes = new ArrayList<>();
+        shapes.add(new QueryShape("findAllBy", new Document(), new Document(), true));
+        shapes.add(new QueryShape("streamAll", new Document(), new Document(), true));
+        shapes.add(new QueryShape("bulkUpsert", new Document("_id", SAMPLE_ID), new Document(), false));
+        shapes.add(new QueryShape("findAllById",
+                new Document("_id", new Document("$in", List.of(SAMPLE_ID))), new Document(), false));
+        shapes.add(new QueryShape("updateAndGet", new Document("_id", SAMPLE_ID), new Document(), false));
+        shapes.add(new QueryShape("bulkUpdate",
+                new Document("_id", new Document("$in", List.of(SAMPLE_ID))), new Document(), false));
+        shapes.add(new QueryShape("findVersionById", new Document("_id", SAMPLE_ID), new Document(), false));
+        shapes.add(new QueryShape("removeById", new Document("_id", SAMPLE_ID), new Document(), false));
+        for (EmployeeSortField sortField : EmployeeSortField.values()) {
+            shapes.add(new QueryShape("findPageAfter", keyset(sortField), keysetSort(sortField), false));
+        }
+        shapes.add(new QueryShape("findBySearchTokensAll",
+                new Document("searchTokens", new Document("$all", List.of("jos", "ose"))), new Document(), false));
+        shapes.add(new QueryShape("findBySearchKeyStartingWith",
+                new Document("searchKey", new Document("$regex", "^jose")),
+                new Document("searchKey", 1).append("_id", 1), false));
+        shapes.add(new QueryShape("findByPuesto", new Document("puesto", SAMPLE_PUESTO), new Document(), false));
+        shapes.add(new QueryShape("findBySalarioBetween",
+                new Document("salario", new Document("$gte", 40000.0).append("$lte", 60000.0)), new Document(), false));
+        shapes.add(new QueryShape("findByFechaContratacionBetween",
+                new Document("fechaContratacion", new Document("$gte", SAMPLE_DATE).append("$lte", new Date())),
+                new Document(), false));
+        shapes.add(new QueryShape("findAllOrderBySalarioDesc", new Document(), new Document("salario", -1), false));
+        shapes.add(new QueryShape("findFirstByOrderBySalarioAsc", new Document(), new Document("salario", 1), false));
+        shapes.add(new QueryShape("findFirstByOrderBySalarioDesc", new Document(), new Document("salario", -1), false));
+        shapes.add(new QueryShape("findHiredSince",
+                new Document("fechaContratacion", new Document("$gte", SAMPLE_DATE)),
+                new Document("fechaContratacion", -1).append("_id", -1), false));
+        shapes.add(new QueryShape("findHiredSince",
+                new Document("fechaContratacion", new Document("$gte", SAMPLE_DATE)).append("puesto", SAMPLE_PUESTO),
+                new Document("fechaContratacion", -1).append("_id", -1), false));
+        shapes.add(new QueryShape("findTop5ByPuestoOrderBySalarioDesc",
+                new Document("puesto", SAMPLE_PUESTO), new Document("salario", -1), false));
+        shapes.add(new QueryShape("aggregateSalaryStatisticsByPuesto", new Document(), new Document(), true));
+        shapes.add(new QueryShape("aggregateSalaryHistogram", new Document("puesto", SAMPLE_PUESTO), new Document(), false));
+        shapes.add(new QueryShape("aggregateHiresByPeriod",
+                new Document("fechaContratacion", new Document("$gte", SAMPLE_DATE).append("$lte", new Date())),
+                new Document(), false));
+        return List.copyOf(shapes);
+    }
+
+    private static Document keyset(EmployeeSortField sortField) {
+        if (sortField == EmployeeSortField.ID) {
+            return new Document("_id", new Document("$gt", SAMPLE_ID));
+        }
+        Object value = sortField == EmployeeSortField.FECHA_CONTRATACION ? SAMPLE_DATE
+                : sortField == EmployeeSortField.SALARIO ? (Object) 50000.0 : "Juan";
+        String property = sortField.getProperty();
+        return new Document("$or", List.of(
+                new Document(property, new Document("$gt", value)),
+                new Document(property, value).append("_id", new Document("$gt", SAMPLE_ID))));
+    }
+
+    private static Document keysetSort(EmployeeSortField sortField) {
+        Document sort = new Document();
+        if (sortField != EmployeeSortField.ID) {
+            sort.append(sortField.getProperty(), 1);
+        }
+        return sort.append("_id", 1);
+    }
+
+    /**
+     * A query issued by a repository method.
+     *
+     * @param method The repository method issuing the query
+     * @param filter The query filter with sample values
+     * @param sort The sort specification, empty if unsorted
+     * @param scanExpected Whether the query reads the whole collection by design
+     */
+    public record QueryShape(String method, Document filter, Document sort, boolean scanExpected) {
+    }
+}
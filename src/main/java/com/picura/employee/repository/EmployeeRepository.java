@@ -2,7 +2,6 @@ package com.picura.employee.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
-import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -10,22 +9,38 @@ import reactor.core.publisher.Mono;
 import com.picura.employee.entity.Employee;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Repository interface for Employee entities.
  * This interface extends ReactiveMongoRepository to provide CRUD operations and
  * custom query methods for Employee documents in MongoDB.
+ * Every query method must have a matching shape in {@link EmployeeQueryShapes}, whose plans are
+ * reported by the queryplans actuator endpoint.
  */
-public interface EmployeeRepository extends ReactiveMongoRepository<Employee, String> {
+public interface EmployeeRepository extends ReactiveMongoRepository<Employee, String>, EmployeeRepositoryCustom {
 
     /**
-     * Finds employees whose names contain the given string, ignoring case.
+     * Finds a page of employees using server-side skip and limit.
+     * Kept for offset-based pagination; deep pages still cost O(offset) on the server,
+     * prefer {@link #findPageAfter} for large listings.
      *
-     * @param nombre The name to search for
-     * @return A Flux of Employee entities matching the search criteria
+     * @param pageable Pagination and sort information
+     * @return A Flux of Employee entities for the requested page
      */
-    @Query("{ 'nombre': { $regex: ?0, $options: 'i' } }")
-    Flux<Employee> findByNombreContainingIgnoreCase(String nombre);
+    Flux<Employee> findAllBy(Pageable pageable);
+
+    /**
+     * Finds employees whose search tokens contain all of the given tokens.
+     * Served by the multikey searchTokens index, so the cost grows with the number of
+     * candidates rather than the size of the collection.
+     *
+     * @param tokens The tokens computed by {@link EmployeeSearchKeys#queryTokens}
+     * @param pageable Pagination information bounding the number of candidates
+     * @return A Flux of candidate Employee entities
+     */
+    @Query("{ 'searchTokens': { $all: ?0 } }")
+    Flux<Employee> findBySearchTokensAll(List<String> tokens, Pageable pageable);
 
     /**
      * Finds employees by their position.
@@ -58,42 +73,29 @@ public interface EmployeeRepository extends ReactiveMongoRepository<Employee, St
 
     /**
      * Finds all employees ordered by salary in descending order.
-     * This query allows disk use to handle large result sets.
+     * Served by a backward walk of the salario index, so no in-memory sort is needed.
      *
      * @param pageable Pagination information
      * @return A Flux of Employee entities ordered by salary (highest to lowest)
      */
-    @Meta(allowDiskUse = true)
     @Query(value = "{}", sort = "{ 'salario': -1 }")
     Flux<Employee> findAllOrderBySalarioDesc(Pageable pageable);
 
     /**
-     * Counts the number of employees in a specific department.
+     * Finds the employee with the lowest salary.
+     * Served by a limit-1 walk of the salario index.
      *
-     * @param departamento The department name
-     * @return A Mono with the count of employees in the specified department
+     * @return A Mono of the lowest-paid Employee entity, empty if there are no employees
      */
-    @Query(value = "{ 'departamento': ?0 }", count = true)
-    Mono<Long> countByDepartamento(String departamento);
+    Mono<Employee> findFirstByOrderBySalarioAsc();
 
     /**
-     * Finds an employee by their email address.
+     * Finds the employee with the highest salary.
+     * Served by a limit-1 backward walk of the salario index.
      *
-     * @param email The email address to search for
-     * @return A Mono of the Employee entity with the specified email
+     * @return A Mono of the highest-paid Employee entity, empty if there are no employees
      */
-    @Query("{ 'email': ?0 }")
-    Mono<Employee> findByEmail(String email);
-
-    /**
-     * Finds employees hired after a specific date and with a specific position.
-     *
-     * @param date The date after which employees were hired
-     * @param puesto The position to filter by (can be null to ignore this criteria)
-     * @return A Flux of Employee entities matching the criteria
-     */
-    @Query(value = "{ $and: [ {'fechaContratacion': { $gte: ?0 }}, {'puesto': ?1} ] }")
-    Flux<Employee> findByFechaContratacionAfterAndPuesto(LocalDate date, String puesto);
+    Mono<Employee> findFirstByOrderBySalarioDesc();
 
     /**
      * Finds the top 5 highest-paid employees in a specific position.
@@ -102,6 +104,6 @@ public interface EmployeeRepository extends ReactiveMongoRepository<Employee, St
      * @param pageable Pagination information (should be set to retrieve only the top 5)
      * @return A Flux of the top 5 Employee entities in the specified position, ordered by salary (highest to lowest)
      */
-    @Query("{ 'puesto': ?0 }")
+    @Query(value = "{ 'puesto': ?0 }", sort = "{ 'salario': -1 }")
     Flux<Employee> findTop5ByPuestoOrderBySalarioDesc(String puesto, Pageable pageable);
 }
\ No newline at end of file
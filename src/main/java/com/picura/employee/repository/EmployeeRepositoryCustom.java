@@ -0,0 +1,195 @@
+package com.picura.employee.repository;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
+import com.picura.employee.entity.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom repository fragment for Employee queries that cannot be expressed as
+ * derived or annotated repository methods.
+ * The implementation is backed by ReactiveMongoTemplate.
+ * Methods taking an {@link EmployeeProjection} overload the repository query of the same name and
+ * shape, so they share its entry in {@link EmployeeQueryShapes}.
+ */
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Finds the next keyset page of employees ordered by the given sort key and then by id.
+     * The query is a range scan over the { sortKey, _id } index, so its cost does not depend
+     * on how deep into the listing the page is.
+     *
+     * @param sortField The sort key
+     * @param direction The sort direction
+     * @param after The cursor of the previous page, or null for the first page
+     * @param limit Maximum number of employees to return
+     * @return A Flux of Employee entities positioned after the cursor
+     */
+    Flux<Employee> findPageAfter(EmployeeSortField sortField, Sort.Direction direction, EmployeeCursor after, int limit);
+
+    /**
+     * Same query as {@link EmployeeRepository#findAllBy(Pageable)}, reading only the projected fields.
+     *
+     * @param pageable Pagination and sort information
+     * @param projection The fields to read
+     * @return A Flux of partially populated Employee entities for the requested page
+     */
+    Flux<Employee> findAllBy(Pageable pageable, EmployeeProjection projection);
+
+    /**
+     * Same query as {@link EmployeeRepository#findBySearchTokensAll(List, Pageable)}, reading only the projected fields.
+     *
+     * @param tokens The tokens computed by {@link EmployeeSearchKeys#queryTokens}
+     * @param pageable Pagination information bounding the number of candidates
+     * @param projection The fields to read
+     * @return A Flux of partially populated candidate Employee entities
+     */
+    Flux<Employee> findBySearchTokensAll(List<String> tokens, Pageable pageable, EmployeeProjection projection);
+
+    /**
+     * Finds the employees whose normalized name starts with a normalized text, ordered by normalized name and id,
+     * so that a name equal to the text comes first. Served by the { searchKey, _id } index.
+     *
+     * @param prefix A text normalized with {@link EmployeeSearchKeys#normalize}
+     * @param limit Maximum number of employees
+     * @param projection The fields to read
+     * @return A Flux of partially populated Employee entities
+     */
+    Flux<Employee> findBySearchKeyStartingWith(String prefix, int limit, EmployeeProjection projection);
+
+    /**
+     * Same query as {@link EmployeeRepository#findAllOrderBySalarioDesc(Pageable)}, reading only the projected fields.
+     *
+     * @param pageable Pagination information
+     * @param projection The fields to read
+     * @return A Flux of partially populated Employee entities ordered by salary (highest to lowest)
+     */
+    Flux<Employee> findAllOrderBySalarioDesc(Pageable pageable, EmployeeProjection projection);
+
+    /**
+     * Streams the employees hired on or after a date, most recent first, optionally restricted to one position.
+     * The range and sort are served by the { fechaContratacion, _id } index, or by the
+     * { puesto, fechaContratacion, _id } index when a position is given, and documents are fetched in cursor batches.
+     *
+     * @param since The earliest hire date, inclusive
+     * @param puesto The position to restrict the results to, or null for every position
+     * @param projection The fields to read
+     * @param batchSize Number of documents fetched per cursor batch
+     * @return A Flux of Employee entities ordered by hire date and id, descending
+     */
+    Flux<Employee> findHiredSince(LocalDate since, String puesto, EmployeeProjection projection, int batchSize);
+
+    /**
+     * Streams every employee of the collection with a single server-side cursor.
+     * Documents are fetched in driver batches of the given size as downstream demand arrives,
+     * so memory use stays constant regardless of the collection size.
+     *
+     * @param batchSize Number of documents fetched per cursor batch
+     * @return A Flux of all Employee entities in natural order
+     */
+    Flux<Employee> streamAll(int batchSize);
+
+    /**
+     * Same query as {@link #streamAll(int)}, reading only the projected fields.
+     *
+     * @param batchSize Number of documents fetched per cursor batch
+     * @param projection The fields to read
+     * @return A Flux of all partially populated Employee entities in natural order
+     */
+    Flux<Employee> streamAll(int batchSize, EmployeeProjection projection);
+
+    /**
+     * Computes salary statistics per position with a single $group aggregation.
+     * Median and percentiles use the server-side $median and $percentile accumulators (MongoDB 7.0+),
+     * so only one small document per position crosses the wire.
+     *
+     * @param percentiles Percentiles to compute, as fractions between 0 and 1
+     * @return A Flux of SalaryStatistics, one per position, ordered by position
+     */
+    Flux<SalaryStatistics> aggregateSalaryStatisticsByPuesto(List<Double> percentiles);
+
+    /**
+     * Computes an equal-width salary histogram with $bucket.
+     * The salary range is resolved first with a $group on min and max, then the collection is bucketed
+     * over boundaries spanning that range. Empty buckets are included with a count of zero.
+     *
+     * @param puesto Position to restrict the histogram to, or null for all employees
+     * @param buckets Number of buckets
+     * @return A Flux of SalaryBucket ordered by lower bound, empty if there are no matching employees
+     */
+    Flux<SalaryBucket> aggregateSalaryHistogram(String puesto, int buckets);
+
+    /**
+     * Counts hires per day, week or month with a $match on the hire date range, served by the hire date
+     * indexes, followed by a $group on $dateTrunc. Hire dates are truncated in {@code picura.mongodb.date-zone},
+     * the zone in which LocalDate values are stored, and weeks start on Monday.
+     *
+     * @param period The bucket width
+     * @param from The first hire date, inclusive
+     * @param to The last hire date, inclusive
+     * @param puesto Position to restrict the series to, or null for all employees
+     * @return A Flux of HireBucket covering the range in order, with zero counts for periods without hires
+     */
+    Flux<HireBucket> aggregateHiresByPeriod(HirePeriod period, LocalDate from, LocalDate to, String puesto);
+
+    /**
+     * Applies a partial update to an employee and returns the updated document, in one atomic findAndModify.
+     * Concurrent updates never overwrite each other's unrelated fields, and increments are never lost.
+     * With an expected version the update only applies if the document is still at that version, so a
+     * conditional update costs the same single round trip as an unconditional one.
+     *
+     * @param id The employee ID
+     * @param update The fields to change
+     * @param expectedVersion The version the document must have, or null to update unconditionally
+     * @return A Mono of the updated Employee entity, empty if no employee has the given id and version
+     */
+    Mono<Employee> updateAndGet(String id, EmployeeUpdate update, Long expectedVersion);
+
+    /**
+     * Applies unconditional partial updates to many employees with a single unordered bulk write under the
+     * given write concern, then reads the updated documents back with one {@code $in} query.
+     * The read is not atomic with the write, so a document may already reflect a later write.
+     * Documents whose update failed are not emitted, and the flux then ends with the
+     * {@link com.mongodb.MongoBulkWriteException} reporting them.
+     *
+     * @param updates The update of each employee, by id
+     * @param writeConcern The write concern of the bulk write
+     * @return A Flux of the updated Employee entities, in no particular order; ids without an employee are skipped
+     */
+    Flux<Employee> bulkUpdate(Map<String, EmployeeUpdate> updates, WriteConcern writeConcern);
+
+    /**
+     * Reads only the version of an employee, for conditional requests that do not need the document.
+     * Documents written before versioning was introduced are reported at version 0.
+     *
+     * @param id The employee ID
+     * @return A Mono of the version, empty if no employee has the given id
+     */
+    Mono<Long> findVersionById(String id);
+
+    /**
+     * Deletes an employee with a single deleteOne.
+     *
+     * @param id The employee ID
+     * @return A Mono with the number of deleted employees, 0 if no employee has the given id
+     */
+    Mono<Long> removeById(String id);
+
+    /**
+     * Inserts or replaces the given employees by id with a single unordered bulk write.
+     * Each write increments the version of the document, starting at 1 for new documents.
+     * A failing document does not stop the others; per-document failures are reported through
+     * a {@link org.springframework.data.mongodb.BulkOperationException} carrying the partial result.
+     *
+     * @param employees The employees to write, each one with its id already assigned
+     * @return A Mono with the bulk write result, whose upsert indexes refer to positions in the list
+     */
+    Mono<BulkWriteResult> bulkUpsert(List<Employee> employees);
+}
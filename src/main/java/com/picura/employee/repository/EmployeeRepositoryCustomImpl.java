@@ -0,0 +1,318 @@
+package com.picura.employee.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.DeleteResult;
+import com.picura.employee.entity.Employee;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.bucket;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * ReactiveMongoTemplate based implementation of {@link EmployeeRepositoryCustom}.
+ */
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    private static final String ID = "id";
+    private static final String PUESTO = "puesto";
+    private static final String SALARIO = "salario";
+    private static final String FECHA_CONTRATACION = "fechaContratacion";
+    private static final String SEARCH_KEY = "searchKey";
+    private static final String SEARCH_TOKENS = "searchTokens";
+    private static final String VERSION = "version";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ZoneId dateZone;
+
+    public EmployeeRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate,
+                                        @Value("${picura.mongodb.date-zone:UTC}") ZoneId dateZone) {
+        this.mongoTemplate = mongoTemplate;
+        this.dateZone = dateZone;
+    }
+
+    @Override
+    public Flux<Employee> findPageAfter(EmployeeSortField sortField, Sort.Direction direction, EmployeeCursor after, int limit) {
+        Query query = new Query()
+                .with(Sort.by(direction, sortField.getProperty()).and(Sort.by(direction, ID)))
+                .limit(limit);
+        if (after != null) {
+            query.addCriteria(keysetCriteria(sortField, direction, after));
+        }
+        return mongoTemplate.find(query, Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> findAllBy(Pageable pageable, EmployeeProjection projection) {
+        return mongoTemplate.find(projection.applyTo(new Query().with(pageable)), Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> findBySearchTokensAll(List<String> tokens, Pageable pageable, EmployeeProjection projection) {
+        Query query = query(where(SEARCH_TOKENS).all(tokens)).with(pageable);
+        return mongoTemplate.find(projection.applyTo(query), Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> findBySearchKeyStartingWith(String prefix, int limit, EmployeeProjection projection) {
+        // Normalized text only holds letters, digits and spaces, so the anchored regex needs no escaping and
+        // scans the index range of the prefix
+        Query query = query(where(SEARCH_KEY).regex("^" + prefix))
+                .with(Sort.by(Sort.Direction.ASC, SEARCH_KEY, ID))
+                .limit(limit);
+        return mongoTemplate.find(projection.applyTo(query), Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> findAllOrderBySalarioDesc(Pageable pageable, EmployeeProjection projection) {
+        Query query = new Query().with(pageable).with(Sort.by(Sort.Direction.DESC, SALARIO));
+        return mongoTemplate.find(projection.applyTo(query), Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> findHiredSince(LocalDate since, String puesto, EmployeeProjection projection, int batchSize) {
+        Criteria criteria = where(FECHA_CONTRATACION).gte(since);
+        if (puesto != null) {
+            criteria = criteria.and(PUESTO).is(puesto);
+        }
+        Query query = query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, FECHA_CONTRATACION, ID))
+                .cursorBatchSize(batchSize);
+        return mongoTemplate.find(projection.applyTo(query), Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> streamAll(int batchSize) {
+        Query query = new Query()
+                .cursorBatchSize(batchSize)
+                .noCursorTimeout();
+        return mongoTemplate.find(query, Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> streamAll(int batchSize, EmployeeProjection projection) {
+        Query query = new Query()
+                .cursorBatchSize(batchSize)
+                .noCursorTimeout();
+        return mongoTemplate.find(projection.applyTo(query), Employee.class);
+    }
+
+    @Override
+    public Flux<SalaryStatistics> aggregateSalaryStatisticsByPuesto(List<Double> percentiles) {
+        GroupOperation group = group(PUESTO)
+                .count().as("headcount")
+                .avg(SALARIO).as("average")
+                .min(SALARIO).as("min")
+                .max(SALARIO).as("max")
+                .and("median", AccumulatorOperators.Median.medianOf(SALARIO));
+        if (!percentiles.isEmpty()) {
+            group = group.and("percentiles", AccumulatorOperators.Percentile.percentileOf(SALARIO)
+                    .percentages(percentiles.toArray(Double[]::new)));
+        }
+        Aggregation aggregation = newAggregation(group, sort(Sort.Direction.ASC, "_id"));
+        return mongoTemplate.aggregate(aggregation, Employee.class, SalaryStatistics.class);
+    }
+
+    @Override
+    public Flux<SalaryBucket> aggregateSalaryHistogram(String puesto, int buckets) {
+        Criteria filter = puesto != null ? where(PUESTO).is(puesto) : new Criteria();
+        Aggregation range = newAggregation(
+                match(filter),
+                group().min(SALARIO).as("min").max(SALARIO).as("max"));
+        return mongoTemplate.aggregate(range, Employee.class, Document.class)
+                .next()
+                .flatMapMany(bounds -> {
+                    double[] boundaries = SalaryBucket.equalWidthBoundaries(
+                            bounds.get("min", Number.class).doubleValue(),
+                            bounds.get("max", Number.class).doubleValue(),
+                            buckets);
+                    Aggregation histogram = newAggregation(
+                            match(filter),
+                            bucket(SALARIO)
+                                    .withBoundaries(Arrays.stream(boundaries).boxed().toArray())
+                                    .andOutputCount().as("count"));
+                    return mongoTemplate.aggregate(histogram, Employee.class, Document.class)
+                            .collectMap(
+                                    result -> result.get("_id", Number.class).doubleValue(),
+                                    result -> result.get("count", Number.class).longValue())
+                            .flatMapIterable(counts -> {
+                                List<SalaryBucket> histogramBuckets = new ArrayList<>(boundaries.length - 1);
+                                for (int i = 0; i < boundaries.length - 1; i++) {
+                                    histogramBuckets.add(new SalaryBucket(
+                                            boundaries[i], boundaries[i + 1], counts.getOrDefault(boundaries[i], 0L)));
+                                }
+                                return histogramBuckets;
+                            });
+                });
+    }
+
+    @Override
+    public Flux<HireBucket> aggregateHiresByPeriod(HirePeriod period, LocalDate from, LocalDate to, String puesto) {
+        Criteria filter = where(FECHA_CONTRATACION).gte(from).lte(to);
+        if (puesto != null) {
+            filter = filter.and(PUESTO).is(puesto);
+        }
+        AggregationExpression truncated = context -> new Document("$dateTrunc", new Document("date", "$" + FECHA_CONTRATACION)
+                .append("unit", period.getUnit())
+                .append("startOfWeek", "monday")
+                .append("timezone", dateZone.getId()));
+        Aggregation aggregation = newAggregation(
+                match(filter),
+                project().and(truncated).as("start"),
+                group("start").count().as("count"));
+        return mongoTemplate.aggregate(aggregation, Employee.class, Document.class)
+                .collectMap(
+                        result -> result.get("_id", Date.class).toInstant().atZone(dateZone).toLocalDate(),
+                        result -> result.get("count", Number.class).longValue())
+                .flatMapIterable(counts -> HireBucket.dense(period, from, to, counts));
+    }
+
+    @Override
+    public Mono<Employee> updateAndGet(String id, EmployeeUpdate update, Long expectedVersion) {
+        Query query = query(where(ID).is(id));
+        if (expectedVersion != null) {
+            // Unversioned documents are at version 0; $in with null also matches a missing field
+            query.addCriteria(expectedVersion == 0 ? where(VERSION).in(0L, null) : where(VERSION).is(expectedVersion));
+        }
+        if (update.isEmpty()) {
+            return mongoTemplate.findOne(query, Employee.class);
+        }
+        return mongoTemplate.findAndModify(query, update.toUpdate(),
+                FindAndModifyOptions.options().returnNew(true), Employee.class);
+    }
+
+    @Override
+    public Flux<Employee> bulkUpdate(Map<String, EmployeeUpdate> updates, WriteConcern writeConcern) {
+        // Written through the driver, since template bulk operations always use the template write concern
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Employee.class);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        UpdateMapper updateMapper = new UpdateMapper(mongoTemplate.getConverter());
+        List<String> writtenIds = new ArrayList<>();
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        updates.forEach((id, update) -> {
+            if (!update.isEmpty()) {
+                writtenIds.add(id);
+                writes.add(new UpdateOneModel<>(
+                        queryMapper.getMappedObject(query(where(ID).is(id)).getQueryObject(), entity),
+                        updateMapper.getMappedObject(update.toUpdate().getUpdateObject(), entity)));
+            }
+        });
+        Mono<Void> write = writes.isEmpty() ? Mono.empty() : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Employee.class))
+                .flatMap(collection -> Mono.from(collection.withWriteConcern(writeConcern)
+                        .bulkWrite(writes, new BulkWriteOptions().ordered(false))))
+                .then();
+        return write
+                .thenMany(Flux.defer(() -> findUpdated(updates.keySet())))
+                .onErrorResume(MongoBulkWriteException.class, e -> {
+                    Set<String> succeeded = new HashSet<>(updates.keySet());
+                    for (BulkWriteError error : e.getWriteErrors()) {
+                        succeeded.remove(writtenIds.get(error.getIndex()));
+                    }
+                    return findUpdated(succeeded).concatWith(Mono.error(e));
+                });
+    }
+
+    @Override
+    public Mono<Long> findVersionById(String id) {
+        Query query = query(where(ID).is(id));
+        query.fields().include(VERSION);
+        return mongoTemplate.findOne(query, Employee.class)
+                .map(employee -> employee.getVersion() == null ? 0L : employee.getVersion());
+    }
+
+    @Override
+    public Mono<Long> removeById(String id) {
+        return mongoTemplate.remove(query(where(ID).is(id)), Employee.class)
+                .map(DeleteResult::getDeletedCount);
+    }
+
+    @Override
+    public Mono<BulkWriteResult> bulkUpsert(List<Employee> employees) {
+        ReactiveBulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Employee.class);
+        for (Employee employee : employees) {
+            // Written as $set plus $inc of the version; updates bypass the callback maintaining the search fields
+            EmployeeSearchIndexer.apply(employee);
+            Document document = new Document();
+            mongoTemplate.getConverter().write(employee, document);
+            document.remove("_id");
+            document.remove(VERSION);
+            Update update = new Update();
+            document.forEach(update::set);
+            // Null fields are not written by the converter; unset them so the write still replaces the document
+            for (EmployeeField field : EmployeeField.values()) {
+                if (field != EmployeeField.ID && !document.containsKey(field.getProperty())) {
+                    update.unset(field.getProperty());
+                }
+            }
+            bulkOperations.upsert(query(where(ID).is(employee.getId())), update.inc(VERSION, 1));
+        }
+        return bulkOperations.execute();
+    }
+
+    private Flux<Employee> findUpdated(Set<String> ids) {
+        return ids.isEmpty() ? Flux.empty() : mongoTemplate.find(query(where(ID).in(ids)), Employee.class);
+    }
+
+    private Criteria keysetCriteria(EmployeeSortField sortField, Sort.Direction direction, EmployeeCursor after) {
+        if (sortField == EmployeeSortField.ID) {
+            return beyond(where(ID), direction, after.getLastId());
+        }
+        String property = sortField.getProperty();
+        Criteria sameValue = beyond(where(property).is(after.getLastValue()).and(ID), direction, after.getLastId());
+        // MongoDB sorts null and missing values before any other, and $gt or $lt never match them
+        if (after.getLastValue() == null) {
+            return direction.isAscending()
+                    ? new Criteria().orOperator(sameValue, where(property).ne(null))
+                    : sameValue;
+        }
+        return direction.isAscending()
+                ? new Criteria().orOperator(beyond(where(property), direction, after.getLastValue()), sameValue)
+                : new Criteria().orOperator(beyond(where(property), direction, after.getLastValue()), sameValue,
+                        where(property).is(null));
+    }
+
+    private Criteria beyond(Criteria criteria, Sort.Direction direction, Object value) {
+        return direction.isAscending() ? criteria.gt(value) : criteria.lt(value);
+    }
+}
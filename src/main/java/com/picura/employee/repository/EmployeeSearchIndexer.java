@@ -0,0 +1,95 @@
+package com.picura.employee.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.picura.employee.entity.Employee;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Keeps the searchKey and searchTokens fields of employees in sync with their names.
+ * The fields are derived right before every save, including bulk writes, and documents written
+ * before the fields existed are backfilled in batches once the application is ready.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EmployeeSearchIndexer implements ReactiveBeforeConvertCallback<Employee> {
+
+    private static final String SEARCH_KEY = "searchKey";
+    private static final String SEARCH_TOKENS = "searchTokens";
+
+    // Resolved lazily: the template itself looks up entity callbacks such as this one on creation
+    private final ObjectProvider<ReactiveMongoTemplate> mongoTemplateProvider;
+
+    @Value("${picura.search.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${picura.search.backfill-batch-size:500}")
+    private int backfillBatchSize;
+
+    @Override
+    public Publisher<Employee> onBeforeConvert(Employee employee, String collection) {
+        apply(employee);
+        return Mono.just(employee);
+    }
+
+    /**
+     * Derives the search fields of an employee from its name.
+     *
+     * @param employee The employee to update in place
+     */
+    public static void apply(Employee employee) {
+        String searchKey = EmployeeSearchKeys.normalize(employee.getNombre());
+        employee.setSearchKey(searchKey);
+        employee.setSearchTokens(EmployeeSearchKeys.indexTokens(searchKey));
+    }
+
+    /**
+     * Backfills the search fields of employees that were stored without them.
+     * Runs asynchronously; a failure is logged and retried on the next start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchKeys() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        ReactiveMongoTemplate mongoTemplate = mongoTemplateProvider.getObject();
+        Query missing = query(where(SEARCH_KEY).exists(false)).cursorBatchSize(backfillBatchSize);
+        mongoTemplate.find(missing, Employee.class)
+                .buffer(backfillBatchSize)
+                .concatMap(batch -> {
+                    ReactiveBulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Employee.class);
+                    batch.forEach(employee -> {
+                        apply(employee);
+                        bulkOperations.updateOne(query(where("id").is(employee.getId())), new Update()
+                                .set(SEARCH_KEY, employee.getSearchKey())
+                                .set(SEARCH_TOKENS, employee.getSearchTokens()));
+                    });
+                    return bulkOperations.execute().map(BulkWriteResult::getModifiedCount);
+                })
+                .reduce(0, Integer::sum)
+                .subscribe(
+                        count -> {
+                            if (count > 0) {
+                                log.info("Backfilled search keys of {} employees", count);
+                            }
+                        },
+                        error -> log.warn("Could not backfill employee search keys: {}", error.getMessage()));
+    }
+}
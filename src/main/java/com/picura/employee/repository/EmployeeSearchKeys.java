@@ -0,0 +1,130 @@
+package com.picura.employee.repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the normalized search key and index tokens of an employee name, and ranks names against a query.
+ * Names are accent-folded, lower-cased and reduced to alphanumeric words. Each word is indexed by its
+ * one and two character prefixes plus all of its trigrams, so that both prefix and infix lookups
+ * become equality matches on the multikey searchTokens index.
+ */
+public final class EmployeeSearchKeys {
+
+    private static final int NGRAM = 3;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+
+    private EmployeeSearchKeys() {
+    }
+
+    /**
+     * Normalizes a text into its search form, e.g. "José  PÉREZ-Núñez" becomes "jose perez nunez".
+     *
+     * @param text The text to normalize, may be null
+     * @return The normalized text, empty if it has no alphanumeric characters
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Splits a normalized text into its words.
+     *
+     * @param normalized A normalized text
+     * @return The words of the text, empty if the text is empty
+     */
+    public static List<String> words(String normalized) {
+        return normalized.isEmpty() ? List.of() : Arrays.asList(normalized.split(" "));
+    }
+
+    /**
+     * Computes the tokens stored in the index for a normalized name.
+     *
+     * @param normalized A normalized name
+     * @return The short prefixes and trigrams of every word
+     */
+    public static List<String> indexTokens(String normalized) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words(normalized)) {
+            for (int length = 1; length < NGRAM && length <= word.length(); length++) {
+                tokens.add(word.substring(0, length));
+            }
+            tokens.addAll(trigrams(word));
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Computes the tokens a name must contain to possibly match a normalized query.
+     * Words of up to three characters are looked up directly; longer words require all of their trigrams.
+     *
+     * @param normalizedQuery A normalized query
+     * @return The tokens to match with $all
+     */
+    public static List<String> queryTokens(String normalizedQuery) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words(normalizedQuery)) {
+            if (word.length() <= NGRAM) {
+                tokens.add(word);
+            } else {
+                tokens.addAll(trigrams(word));
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Scores a normalized name against the words of a normalized query.
+     * Every query word must appear in some word of the name; exact words weigh more than prefixes,
+     * and prefixes more than infixes. A name equal to, or starting with, the whole query gets a bonus.
+     *
+     * @param normalizedName A normalized name
+     * @param normalizedQuery A normalized query
+     * @return The relevance score, or -1 if the name does not match the query
+     */
+    public static int score(String normalizedName, String normalizedQuery) {
+        List<String> nameWords = words(normalizedName);
+        int score = 0;
+        for (String queryWord : words(normalizedQuery)) {
+            int best = -1;
+            for (String nameWord : nameWords) {
+                if (nameWord.equals(queryWord)) {
+                    best = Math.max(best, 3);
+                } else if (nameWord.startsWith(queryWord)) {
+                    best = Math.max(best, 2);
+                } else if (nameWord.contains(queryWord)) {
+                    best = Math.max(best, 1);
+                }
+            }
+            if (best < 0) {
+                return -1;
+            }
+            score += best;
+        }
+        if (normalizedName.equals(normalizedQuery)) {
+            score += 10;
+        } else if (normalizedName.startsWith(normalizedQuery)) {
+            score += 5;
+        }
+        return score;
+    }
+
+    private static List<String> trigrams(String word) {
+        List<String> trigrams = new ArrayList<>();
+        for (int i = 0; i + NGRAM <= word.length(); i++) {
+            trigrams.add(word.substring(i, i + NGRAM));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,69 @@
+package com.picura.employee.repository;
+
+import com.picura.employee.entity.Employee;
+
+import java.time.LocalDate;
+
+/**
+ * Sort keys supported by keyset (cursor) pagination.
+ * Every key is paired with the document id as a tie-breaker, so each one must be backed
+ * by a compound index of the form { field: 1, _id: 1 } declared on {@link Employee}.
+ */
+public enum EmployeeSortField {
+
+    ID("id"),
+    NOMBRE("nombre"),
+    SALARIO("salario"),
+    FECHA_CONTRATACION("fechaContratacion");
+
+    private final String property;
+
+    EmployeeSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Extracts the value of this sort key from an employee.
+     *
+     * @param employee The employee to read from
+     * @return The sort key value, or null for {@link #ID} since the id is carried separately
+     */
+    public Object valueOf(Employee employee) {
+        return switch (this) {
+            case ID -> null;
+            case NOMBRE -> employee.getNombre();
+            case SALARIO -> employee.getSalario();
+            case FECHA_CONTRATACION -> employee.getFechaContratacion();
+        };
+    }
+
+    /**
+     * Converts a sort key value to its textual cursor representation.
+     * Null values are encoded by {@link EmployeeCursor} itself.
+     *
+     * @param value The sort key value, not null
+     * @return The value as a string
+     */
+    String format(Object value) {
+        return value.toString();
+    }
+
+    /**
+     * Parses a sort key value from its textual cursor representation.
+     *
+     * @param text The value as a string
+     * @return The typed sort key value
+     */
+    Object parse(String text) {
+        return switch (this) {
+            case ID -> null;
+            case NOMBRE -> text;
+            case SALARIO -> Double.valueOf(text);
+            case FECHA_CONTRATACION -> LocalDate.parse(text);
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.picura.employee.repository;
+
+import com.picura.employee.entity.Employee;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+
+/**
+ * Typed partial update of an employee, applied atomically on the server.
+ * Null fields are left untouched. Changing the name also refreshes the derived search fields,
+ * since server-side updates bypass the entity callbacks that normally maintain them.
+ * Every non-empty update increments the document version.
+ */
+@Value
+@Builder
+public class EmployeeUpdate {
+
+    String nombre;
+    String puesto;
+    Double salario;
+    Double salarioIncrement;
+    LocalDate fechaContratacion;
+
+    /**
+     * Tells whether the update changes no field at all.
+     *
+     * @return true if every field is null
+     */
+    public boolean isEmpty() {
+        return nombre == null && puesto == null && salario == null && salarioIncrement == null && fechaContratacion == null;
+    }
+
+    /**
+     * Merges a later update into this one, so that applying the result once has the same effect on the fields
+     * as applying both in order. The version is then incremented once instead of twice.
+     * A salary increment following an absolute salary is folded into it, since $set and $inc cannot
+     * target the same field in one update.
+     *
+     * @param next The update applied after this one
+     * @return The combined update
+     */
+    public EmployeeUpdate andThen(EmployeeUpdate next) {
+        Double mergedSalario = salario;
+        Double mergedIncrement = salarioIncrement;
+        if (next.salario != null) {
+            mergedSalario = next.salario;
+            mergedIncrement = null;
+        } else if (next.salarioIncrement != null) {
+            if (salario != null) {
+                mergedSalario = salario + next.salarioIncrement;
+            } else {
+                mergedIncrement = (salarioIncrement == null ? 0 : salarioIncrement) + next.salarioIncrement;
+            }
+        }
+        return EmployeeUpdate.builder()
+                .nombre(next.nombre != null ? next.nombre : nombre)
+                .puesto(next.puesto != null ? next.puesto : puesto)
+                .salario(mergedSalario)
+                .salarioIncrement(mergedIncrement)
+                .fechaContratacion(next.fechaContratacion != null ? next.fechaContratacion : fechaContratacion)
+                .build();
+    }
+
+    /**
+     * Applies this update to an employee in memory, with the same semantics as {@link #toUpdate()}.
+     *
+     * @param employee The employee to modify in place
+     */
+    public void applyTo(Employee employee) {
+        if (nombre != null) {
+            employee.setNombre(nombre);
+            EmployeeSearchIndexer.apply(employee);
+        }
+        if (puesto != null) {
+            employee.setPuesto(puesto);
+        }
+        if (salario != null) {
+            employee.setSalario(salario);
+        }
+        if (salarioIncrement != null) {
+            employee.setSalario(employee.getSalario() + salarioIncrement);
+        }
+        if (fechaContratacion != null) {
+            employee.setFechaContratacion(fechaContratacion);
+        }
+        employee.setVersion(employee.getVersion() == null ? 1 : employee.getVersion() + 1);
+    }
+
+    /**
+     * Converts this update into $set and $inc operators.
+     *
+     * @return The MongoDB update
+     */
+    public Update toUpdate() {
+        Update update = new Update();
+        if (nombre != null) {
+            String searchKey = EmployeeSearchKeys.normalize(nombre);
+            update.set("nombre", nombre)
+                    .set("searchKey", searchKey)
+                    .set("searchTokens", EmployeeSearchKeys.indexTokens(searchKey));
+        }
+        if (puesto != null) {
+            update.set("puesto", puesto);
+        }
+        if (salario != null) {
+            update.set("salario", salario);
+        }
+        if (salarioIncrement != null) {
+            update.inc("salario", salarioIncrement);
+        }
+        if (fechaContratacion != null) {
+            update.set("fechaContratacion", fechaContratacion);
+        }
+        return update.inc("version", 1);
+    }
+}
@@ -0,0 +1,39 @@
+package com.picura.employee.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Number of employees hired in one bucket of a hiring time series, starting at {@code start}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HireBucket {
+
+    private LocalDate start;
+    private long count;
+
+    /**
+     * Lays out every bucket between two dates, so that periods without hires are reported with a count of zero.
+     *
+     * @param period The bucket width
+     * @param from The first date, inclusive
+     * @param to The last date, inclusive
+     * @param counts Hires per bucket start, for the buckets that have any
+     * @return The buckets ordered by start
+     */
+    static List<HireBucket> dense(HirePeriod period, LocalDate from, LocalDate to, Map<LocalDate, Long> counts) {
+        List<HireBucket> buckets = new ArrayList<>();
+        for (LocalDate start = period.truncate(from); !start.isAfter(to); start = period.next(start)) {
+            buckets.add(new HireBucket(start, counts.getOrDefault(start, 0L)));
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,64 @@
+package com.picura.employee.repository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Width of the buckets of a hiring time series. Weeks start on Monday.
+ * The unit is the name used by the {@code $dateTrunc} aggregation operator.
+ */
+public enum HirePeriod {
+
+    DAY("day", ChronoUnit.DAYS),
+    WEEK("week", ChronoUnit.WEEKS),
+    MONTH("month", ChronoUnit.MONTHS);
+
+    private final String unit;
+    private final ChronoUnit chronoUnit;
+
+    HirePeriod(String unit, ChronoUnit chronoUnit) {
+        this.unit = unit;
+        this.chronoUnit = chronoUnit;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the first day of the bucket containing a date.
+     *
+     * @param date The date
+     * @return The start of its bucket
+     */
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Returns the start of the bucket following the one starting at a date.
+     *
+     * @param start The start of a bucket
+     * @return The start of the next bucket
+     */
+    public LocalDate next(LocalDate start) {
+        return start.plus(1, chronoUnit);
+    }
+
+    /**
+     * Counts the buckets overlapping a date range.
+     *
+     * @param from The first date, inclusive
+     * @param to The last date, inclusive
+     * @return The number of buckets, 0 if the range is empty
+     */
+    public long bucketsBetween(LocalDate from, LocalDate to) {
+        return to.isBefore(from) ? 0 : chronoUnit.between(truncate(from), truncate(to)) + 1;
+    }
+}
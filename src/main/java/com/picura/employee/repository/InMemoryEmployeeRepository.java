@@ -0,0 +1,742 @@
+package com.picura.employee.repository;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.picura.employee.entity.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonString;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory implementation of {@link EmployeeRepository} for small, read-mostly rosters, enabled by the
+ * {@code inmemory} profile in place of the Mongo-backed repository.
+ * Employees are held in an immutable {@link EmployeeColumns} snapshot: queries read the current snapshot
+ * without locking and are answered from its sorted row permutations and posting lists, while writes are
+ * serialized and publish a rebuilt snapshot, so their cost grows with the roster size.
+ * When a snapshot file is configured, the roster is loaded from it on startup and rewritten after every
+ * write by a single background writer that coalesces bursts of writes into one file write.
+ * Query by Example is not supported.
+ */
+@Repository
+@Profile("inmemory")
+@Primary
+@Slf4j
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+
+    private final AtomicReference<EmployeeColumns> snapshot = new AtomicReference<>(EmployeeColumns.empty());
+    private final Path snapshotFile;
+    private final ExecutorService snapshotWriter;
+    private final AtomicBoolean snapshotPending = new AtomicBoolean();
+
+    public InMemoryEmployeeRepository(@Value("${picura.inmemory.snapshot-file:}") String snapshotFile) {
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+        this.snapshotWriter = this.snapshotFile == null ? null : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the roster from the snapshot file, if one is configured and exists.
+     *
+     * @throws IOException If the file cannot be read
+     */
+    @PostConstruct
+    public void loadSnapshot() throws IOException {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            snapshot.set(EmployeeColumns.readFrom(in));
+        }
+        log.info("Loaded {} employees from snapshot {}", snapshot.get().size(), snapshotFile);
+    }
+
+    /**
+     * Waits for pending snapshot writes and writes the final roster.
+     */
+    @PreDestroy
+    public void flushSnapshot() {
+        if (snapshotWriter == null) {
+            return;
+        }
+        snapshotWriter.shutdown();
+        try {
+            if (!snapshotWriter.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Timed out waiting for pending employee snapshot writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeSnapshot();
+    }
+
+    // Queries
+
+    @Override
+    public Mono<Employee> findById(String id) {
+        return Mono.fromCallable(() -> {
+            EmployeeColumns columns = snapshot.get();
+            Integer row = columns.row(id);
+            return row == null ? null : columns.employee(row);
+        });
+    }
+
+    @Override
+    public Mono<Employee> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.fromCallable(() -> snapshot.get().row(id) != null);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<Employee> findAll() {
+        return rows(columns -> IntStream.range(0, columns.size()).toArray());
+    }
+
+    @Override
+    public Flux<Employee> findAll(Sort sort) {
+        return Flux.defer(() -> Flux.fromIterable(sorted(findAllEmployees(), sort)));
+    }
+
+    @Override
+    public Flux<Employee> findAllById(Iterable<String> ids) {
+        return Flux.fromIterable(ids).concatMap(this::findById);
+    }
+
+    @Override
+    public Flux<Employee> findAllById(Publisher<String> idStream) {
+        return Flux.from(idStream).concatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromCallable(() -> (long) snapshot.get().size());
+    }
+
+    @Override
+    public Flux<Employee> findAllBy(Pageable pageable) {
+        return Flux.defer(() -> Flux.fromIterable(sorted(findAllEmployees(), pageable.getSort())))
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .take(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE);
+    }
+
+    @Override
+    public Flux<Employee> findBySearchTokensAll(List<String> tokens, Pageable pageable) {
+        return rows(columns -> columns.rowsWithTokens(tokens))
+                .take(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE);
+    }
+
+    @Override
+    public Flux<Employee> findByPuesto(String puesto) {
+        return rows(columns -> columns.rowsOfPuesto(puesto));
+    }
+
+    @Override
+    public Flux<Employee> findBySalarioBetween(double minSalario, double maxSalario) {
+        return rows(columns -> {
+            int[] bySalario = columns.sortedBy(EmployeeSortField.SALARIO);
+            int from = firstIndex(bySalario, row -> columns.salario(row) >= minSalario);
+            int to = firstIndex(bySalario, row -> columns.salario(row) > maxSalario);
+            return Arrays.copyOfRange(bySalario, from, Math.max(from, to));
+        });
+    }
+
+    @Override
+    public Flux<Employee> findByFechaContratacionBetween(LocalDate startDate, LocalDate endDate) {
+        return rows(columns -> {
+            int[] byFecha = columns.sortedBy(EmployeeSortField.FECHA_CONTRATACION);
+            int from = firstIndex(byFecha, row -> columns.fecha(row) >= startDate.toEpochDay());
+            int to = firstIndex(byFecha, row -> columns.fecha(row) > endDate.toEpochDay());
+            return Arrays.copyOfRange(byFecha, from, Math.max(from, to));
+        });
+    }
+
+    @Override
+    public Flux<Employee> findAllOrderBySalarioDesc(Pageable pageable) {
+        return rows(columns -> reversed(columns.sortedBy(EmployeeSortField.SALARIO)))
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .take(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE);
+    }
+
+    @Override
+    public Mono<Employee> findFirstByOrderBySalarioAsc() {
+        return rows(columns -> columns.sortedBy(EmployeeSortField.SALARIO)).next();
+    }
+
+    @Override
+    public Mono<Employee> findFirstByOrderBySalarioDesc() {
+        return rows(columns -> reversed(columns.sortedBy(EmployeeSortField.SALARIO))).next();
+    }
+
+    @Override
+    public Flux<Employee> findTop5ByPuestoOrderBySalarioDesc(String puesto, Pageable pageable) {
+        return rows(columns -> columns.rowsOfPuesto(puesto))
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .take(pageable.isPaged() ? pageable.getPageSize() : 5);
+    }
+
+    @Override
+    public Flux<Employee> findPageAfter(EmployeeSortField sortField, Sort.Direction direction, EmployeeCursor after, int limit) {
+        return rows(columns -> {
+            int[] sorted = columns.sortedBy(sortField);
+            if (direction.isAscending()) {
+                int from = after == null ? 0
+                        : firstIndex(sorted, row -> columns.compare(sortField, row, after.getLastValue(), after.getLastId()) > 0);
+                return Arrays.copyOfRange(sorted, from, Math.min(sorted.length, from + limit));
+            }
+            int to = after == null ? sorted.length
+                    : firstIndex(sorted, row -> columns.compare(sortField, row, after.getLastValue(), after.getLastId()) >= 0);
+            return reversed(Arrays.copyOfRange(sorted, Math.max(0, to - limit), to));
+        });
+    }
+
+    // Rows are materialized from the columns either way, so projections only apply in the mapper
+
+    @Override
+    public Flux<Employee> findAllBy(Pageable pageable, EmployeeProjection projection) {
+        return findAllBy(pageable);
+    }
+
+    @Override
+    public Flux<Employee> findBySearchTokensAll(List<String> tokens, Pageable pageable, EmployeeProjection projection) {
+        return findBySearchTokensAll(tokens, pageable);
+    }
+
+    @Override
+    public Flux<Employee> findBySearchKeyStartingWith(String prefix, int limit, EmployeeProjection projection) {
+        return rows(columns -> Arrays.stream(columns.rowsWithTokens(EmployeeSearchKeys.queryTokens(prefix)))
+                .boxed()
+                .filter(row -> EmployeeSearchKeys.normalize(columns.nombre(row)).startsWith(prefix))
+                .sorted(Comparator.<Integer, String>comparing(row -> EmployeeSearchKeys.normalize(columns.nombre(row)))
+                        .thenComparing(columns::id))
+                .limit(limit)
+                .mapToInt(Integer::intValue)
+                .toArray());
+    }
+
+    @Override
+    public Flux<Employee> findAllOrderBySalarioDesc(Pageable pageable, EmployeeProjection projection) {
+        return findAllOrderBySalarioDesc(pageable);
+    }
+
+    @Override
+    public Flux<Employee> findHiredSince(LocalDate since, String puesto, EmployeeProjection projection, int batchSize) {
+        return rows(columns -> {
+            int[] byFecha = columns.sortedBy(EmployeeSortField.FECHA_CONTRATACION);
+            int from = firstIndex(byFecha, row -> columns.fecha(row) >= since.toEpochDay());
+            int[] recent = reversed(Arrays.copyOfRange(byFecha, from, byFecha.length));
+            return puesto == null ? recent : Arrays.stream(recent).filter(row -> puesto.equals(columns.puesto(row))).toArray();
+        });
+    }
+
+    @Override
+    public Flux<Employee> streamAll(int batchSize) {
+        return findAll();
+    }
+
+    @Override
+    public Flux<Employee> streamAll(int batchSize, EmployeeProjection projection) {
+        return streamAll(batchSize);
+    }
+
+    /**
+     * Computes the same statistics as the Mongo pipeline. Median and percentiles use the nearest-rank
+     * method, so, like the server-side accumulators, they are always salaries of actual employees.
+     */
+    @Override
+    public Flux<SalaryStatistics> aggregateSalaryStatisticsByPuesto(List<Double> percentiles) {
+        return Flux.defer(() -> {
+            EmployeeColumns columns = snapshot.get();
+            List<SalaryStatistics> result = new ArrayList<>();
+            for (String puesto : columns.puestos()) {
+                int[] rows = columns.rowsOfPuesto(puesto);
+                double sum = 0;
+                for (int row : rows) {
+                    sum += columns.salario(row);
+                }
+                SalaryStatistics statistics = new SalaryStatistics();
+                statistics.setPuesto(puesto);
+                statistics.setHeadcount(rows.length);
+                statistics.setAverage(sum / rows.length);
+                statistics.setMin(columns.salario(rows[rows.length - 1]));
+                statistics.setMax(columns.salario(rows[0]));
+                statistics.setMedian(nearestRank(columns, rows, 0.5));
+                if (!percentiles.isEmpty()) {
+                    statistics.setPercentiles(percentiles.stream()
+                            .map(percentile -> nearestRank(columns, rows, percentile))
+                            .toList());
+                }
+                result.add(statistics);
+            }
+            return Flux.fromIterable(result);
+        });
+    }
+
+    @Override
+    public Flux<SalaryBucket> aggregateSalaryHistogram(String puesto, int buckets) {
+        return Flux.defer(() -> {
+            EmployeeColumns columns = snapshot.get();
+            int[] rows = puesto != null ? columns.rowsOfPuesto(puesto) : columns.sortedBy(EmployeeSortField.SALARIO);
+            if (rows.length == 0) {
+                return Flux.empty();
+            }
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int row : rows) {
+                min = Math.min(min, columns.salario(row));
+                max = Math.max(max, columns.salario(row));
+            }
+            double[] boundaries = SalaryBucket.equalWidthBoundaries(min, max, buckets);
+            long[] counts = new long[boundaries.length - 1];
+            for (int row : rows) {
+                int index = Arrays.binarySearch(boundaries, columns.salario(row));
+                counts[index >= 0 ? index : -index - 2]++;
+            }
+            List<SalaryBucket> histogram = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                histogram.add(new SalaryBucket(boundaries[i], boundaries[i + 1], counts[i]));
+            }
+            return Flux.fromIterable(histogram);
+        });
+    }
+
+    @Override
+    public Flux<HireBucket> aggregateHiresByPeriod(HirePeriod period, LocalDate from, LocalDate to, String puesto) {
+        return Flux.defer(() -> {
+            EmployeeColumns columns = snapshot.get();
+            int[] byFecha = columns.sortedBy(EmployeeSortField.FECHA_CONTRATACION);
+            int first = firstIndex(byFecha, row -> columns.fecha(row) >= from.toEpochDay());
+            int last = firstIndex(byFecha, row -> columns.fecha(row) > to.toEpochDay());
+            Map<LocalDate, Long> counts = new HashMap<>();
+            for (int i = first; i < last; i++) {
+                int row = byFecha[i];
+                if (puesto == null || puesto.equals(columns.puesto(row))) {
+                    counts.merge(period.truncate(LocalDate.ofEpochDay(columns.fecha(row))), 1L, Long::sum);
+                }
+            }
+            return Flux.fromIterable(HireBucket.dense(period, from, to, counts));
+        });
+    }
+
+    // Writes
+
+    @Override
+    public <S extends Employee> Mono<S> save(S entity) {
+        return saveAll(List.of(entity)).next();
+    }
+
+    @Override
+    public <S extends Employee> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.defer(() -> {
+            List<S> employees = new ArrayList<>();
+            entities.forEach(employees::add);
+            employees.forEach(this::assignId);
+            synchronized (this) {
+                EmployeeColumns columns = snapshot.get();
+                for (S employee : employees) {
+                    RuntimeException conflict = advanceVersion(employee, columns);
+                    if (conflict != null) {
+                        return Flux.error(conflict);
+                    }
+                }
+                write(employees, Set.of());
+            }
+            return Flux.fromIterable(employees);
+        });
+    }
+
+    /**
+     * Applies the @Version semantics of the Mongo template: an unversioned entity is inserted at version 0,
+     * a versioned one replaces the stored employee only if it is still at that version.
+     */
+    private RuntimeException advanceVersion(Employee employee, EmployeeColumns columns) {
+        Integer row = columns.row(employee.getId());
+        if (employee.getVersion() == null) {
+            if (row != null) {
+                return new DuplicateKeyException("Duplicate employee id " + employee.getId());
+            }
+            employee.setVersion(0L);
+        } else {
+            if (row == null || columns.version(row) != employee.getVersion()) {
+                return new OptimisticLockingFailureException("Employee " + employee.getId() + " is not at version " + employee.getVersion());
+            }
+            employee.setVersion(employee.getVersion() + 1);
+        }
+        return null;
+    }
+
+    @Override
+    public <S extends Employee> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends Employee> Mono<S> insert(S entity) {
+        return insert(List.of(entity)).next();
+    }
+
+    @Override
+    public <S extends Employee> Flux<S> insert(Iterable<S> entities) {
+        return Flux.defer(() -> {
+            List<S> employees = new ArrayList<>();
+            entities.forEach(employees::add);
+            employees.forEach(this::assignId);
+            synchronized (this) {
+                EmployeeColumns columns = snapshot.get();
+                Set<String> ids = new HashSet<>();
+                for (S employee : employees) {
+                    if (columns.row(employee.getId()) != null || !ids.add(employee.getId())) {
+                        return Flux.error(new DuplicateKeyException("Duplicate employee id " + employee.getId()));
+                    }
+                }
+                employees.stream().filter(employee -> employee.getVersion() == null).forEach(employee -> employee.setVersion(0L));
+                write(employees, Set.of());
+            }
+            return Flux.fromIterable(employees);
+        });
+    }
+
+    @Override
+    public <S extends Employee> Flux<S> insert(Publisher<S> entities) {
+        return Flux.from(entities).concatMap(this::insert);
+    }
+
+    @Override
+    public Mono<Employee> updateAndGet(String id, EmployeeUpdate update, Long expectedVersion) {
+        return Mono.fromCallable(() -> {
+            synchronized (this) {
+                EmployeeColumns columns = snapshot.get();
+                Integer row = columns.row(id);
+                if (row == null || expectedVersion != null && columns.version(row) != expectedVersion) {
+                    return null;
+                }
+                Employee employee = columns.employee(row);
+                if (!update.isEmpty()) {
+                    update.applyTo(employee);
+                    write(List.of(employee), Set.of());
+                }
+                return employee;
+            }
+        });
+    }
+
+    @Override
+    public Flux<Employee> bulkUpdate(Map<String, EmployeeUpdate> updates, WriteConcern writeConcern) {
+        return Flux.defer(() -> {
+            synchronized (this) {
+                EmployeeColumns columns = snapshot.get();
+                List<Employee> written = new ArrayList<>();
+                List<Employee> updated = new ArrayList<>();
+                updates.forEach((id, update) -> {
+                    Integer row = columns.row(id);
+                    if (row != null) {
+                        Employee employee = columns.employee(row);
+                        if (!update.isEmpty()) {
+                            update.applyTo(employee);
+                            written.add(employee);
+                        }
+                        updated.add(employee);
+                    }
+                });
+                if (!written.isEmpty()) {
+                    write(written, Set.of());
+                }
+                return Flux.fromIterable(updated);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Long> findVersionById(String id) {
+        return Mono.fromCallable(() -> {
+            EmployeeColumns columns = snapshot.get();
+            Integer row = columns.row(id);
+            return row == null ? null : columns.version(row);
+        });
+    }
+
+    @Override
+    public Mono<Long> removeById(String id) {
+        return Mono.fromCallable(() -> {
+            synchronized (this) {
+                if (snapshot.get().row(id) == null) {
+                    return 0L;
+                }
+                write(List.of(), Set.of(id));
+                return 1L;
+            }
+        });
+    }
+
+    @Override
+    public Mono<BulkWriteResult> bulkUpsert(List<Employee> employees) {
+        return Mono.fromCallable(() -> {
+            synchronized (this) {
+                EmployeeColumns columns = snapshot.get();
+                Map<String, Integer> firstIndex = new LinkedHashMap<>();
+                List<BulkWriteUpsert> upserts = new ArrayList<>();
+                Map<String, Long> versions = new LinkedHashMap<>();
+                for (int i = 0; i < employees.size(); i++) {
+                    Employee employee = employees.get(i);
+                    Integer row = columns.row(employee.getId());
+                    if (row == null && firstIndex.putIfAbsent(employee.getId(), i) == null) {
+                        upserts.add(new BulkWriteUpsert(i, new BsonString(employee.getId())));
+                    }
+                    // Like $inc on the server: version 1 for new employees, one more for every write
+                    long version = versions.getOrDefault(employee.getId(), row == null ? 0L : columns.version(row)) + 1;
+                    versions.put(employee.getId(), version);
+                    employee.setVersion(version);
+                }
+                write(employees, Set.of());
+                int matched = employees.size() - upserts.size();
+                return BulkWriteResult.acknowledged(0, matched, 0, matched, upserts, List.of());
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return removeById(id).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(Employee entity) {
+        return deleteById(entity.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends String> ids) {
+        return Mono.fromRunnable(() -> {
+            Set<String> removed = new HashSet<>();
+            ids.forEach(removed::add);
+            write(List.of(), removed);
+        });
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends Employee> entities) {
+        List<String> ids = new ArrayList<>();
+        entities.forEach(entity -> ids.add(entity.getId()));
+        return deleteAllById(ids);
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends Employee> entityStream) {
+        return Flux.from(entityStream).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(() -> {
+            synchronized (this) {
+                snapshot.set(EmployeeColumns.empty());
+                scheduleSnapshot();
+            }
+        });
+    }
+
+    // Query by Example
+
+    @Override
+    public <S extends Employee> Mono<S> findOne(Example<S> example) {
+        return Mono.error(unsupportedExample());
+    }
+
+    @Override
+    public <S extends Employee> Flux<S> findAll(Example<S> example) {
+        return Flux.error(unsupportedExample());
+    }
+
+    @Override
+    public <S extends Employee> Flux<S> findAll(Example<S> example, Sort sort) {
+        return Flux.error(unsupportedExample());
+    }
+
+    @Override
+    public <S extends Employee> Mono<Long> count(Example<S> example) {
+        return Mono.error(unsupportedExample());
+    }
+
+    @Override
+    public <S extends Employee> Mono<Boolean> exists(Example<S> example) {
+        return Mono.error(unsupportedExample());
+    }
+
+    @Override
+    public <S extends Employee, R, P extends Publisher<R>> P findBy(Example<S> example,
+                                                                  Function<FluentQuery.ReactiveFluentQuery<S>, P> queryFunction) {
+        throw unsupportedExample();
+    }
+
+    private UnsupportedOperationException unsupportedExample() {
+        return new UnsupportedOperationException("Query by Example is not supported by the in-memory employee repository");
+    }
+
+    // Helpers
+
+    private Flux<Employee> rows(Function<EmployeeColumns, int[]> query) {
+        return Flux.defer(() -> {
+            EmployeeColumns columns = snapshot.get();
+            int[] rows = query.apply(columns);
+            return Flux.range(0, rows.length).map(i -> columns.employee(rows[i]));
+        });
+    }
+
+    private List<Employee> findAllEmployees() {
+        EmployeeColumns columns = snapshot.get();
+        List<Employee> employees = new ArrayList<>(columns.size());
+        for (int row = 0; row < columns.size(); row++) {
+            employees.add(columns.employee(row));
+        }
+        return employees;
+    }
+
+    private List<Employee> sorted(List<Employee> employees, Sort sort) {
+        Comparator<Employee> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Employee> next = propertyComparator(order.getProperty());
+            next = order.isAscending() ? next : next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        if (comparator != null) {
+            employees.sort(comparator);
+        }
+        return employees;
+    }
+
+    private Comparator<Employee> propertyComparator(String property) {
+        return switch (property) {
+            case "id" -> Comparator.comparing(Employee::getId);
+            case "nombre" -> Comparator.comparing(Employee::getNombre, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "puesto" -> Comparator.comparing(Employee::getPuesto, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "salario" -> Comparator.comparingDouble(Employee::getSalario);
+            case "fechaContratacion" -> Comparator.comparing(Employee::getFechaContratacion, Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> throw new IllegalArgumentException("Unsupported sort property " + property);
+        };
+    }
+
+    /**
+     * Finds the first index of a sorted row permutation whose row satisfies a predicate that is false
+     * for a prefix of the permutation and true for the rest.
+     */
+    private static int firstIndex(int[] sorted, IntPredicate predicate) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (predicate.test(sorted[mid])) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static int[] reversed(int[] rows) {
+        int[] result = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            result[i] = rows[rows.length - 1 - i];
+        }
+        return result;
+    }
+
+    private static double nearestRank(EmployeeColumns columns, int[] rowsBySalarioDesc, double percentile) {
+        int rank = Math.max(1, (int) Math.ceil(percentile * rowsBySalarioDesc.length));
+        return columns.salario(rowsBySalarioDesc[rowsBySalarioDesc.length - rank]);
+    }
+
+    private void assignId(Employee employee) {
+        if (employee.getId() == null) {
+            employee.setId(UUID.randomUUID().toString());
+        }
+    }
+
+    private synchronized void write(List<? extends Employee> upserts, Set<String> removedIds) {
+        snapshot.set(snapshot.get().with(new ArrayList<>(upserts), removedIds));
+        scheduleSnapshot();
+    }
+
+    private void scheduleSnapshot() {
+        if (snapshotWriter != null && !snapshotWriter.isShutdown() && snapshotPending.compareAndSet(false, true)) {
+            snapshotWriter.execute(() -> {
+                snapshotPending.set(false);
+                writeSnapshot();
+            });
+        }
+    }
+
+    private void writeSnapshot() {
+        EmployeeColumns columns = snapshot.get();
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                columns.writeTo(out);
+            }
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote {} employees to snapshot {}", columns.size(), snapshotFile);
+        } catch (IOException e) {
+            log.warn("Could not write employee snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.picura.employee.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One bucket of a salary histogram, covering salaries in [lowerBound, upperBound).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryBucket {
+
+    private double lowerBound;
+    private double upperBound;
+    private long count;
+
+    /**
+     * Splits [min, max] into equally wide buckets; the last boundary is nudged above max
+     * because bucket boundaries are exclusive on the upper side.
+     *
+     * @param min The lowest salary
+     * @param max The highest salary
+     * @param buckets The requested number of buckets, reduced to one when all salaries are equal
+     * @return The bucket boundaries, one more than the number of buckets
+     */
+    static double[] equalWidthBoundaries(double min, double max, int buckets) {
+        int count = max > min ? buckets : 1;
+        double width = (max - min) / count;
+        double[] boundaries = new double[count + 1];
+        for (int i = 0; i < count; i++) {
+            boundaries[i] = min + i * width;
+        }
+        boundaries[count] = Math.nextUp(max);
+        return boundaries;
+    }
+}
@@ -0,0 +1,22 @@
+package com.picura.employee.repository;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+
+import java.util.List;
+
+/**
+ * Salary aggregate of a group of employees, as produced by the salary statistics pipeline.
+ */
+@Data
+public class SalaryStatistics {
+
+    @Id
+    private String puesto;
+    private long headcount;
+    private double average;
+    private double min;
+    private double max;
+    private double median;
+    private List<Double> percentiles;
+}
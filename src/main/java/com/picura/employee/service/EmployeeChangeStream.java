@@ -0,0 +1,282 @@
+package com.picura.employee.service;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.picura.employee.config.CacheConfig;
+import com.picura.employee.entity.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Keeps the local caches of this instance consistent with writes made by any instance.
+ * Watches the employees collection through a change stream once the application is ready: every insert,
+ * update or replace evicts the employee and the cached listings and refreshes the {@link SalaryRankIndex}
+ * from the looked-up document, and every delete evicts it and removes it from the index.
+ * The resume token of the last event is saved per instance in {@code employeeChangeStreamTokens} every
+ * {@code picura.change-stream.token-save-interval}, so an interrupted or restarted stream resumes without
+ * missing writes. If the token has fallen off the oplog, the caches are cleared and the stream restarts from now.
+ * Where change streams are unavailable, as on a standalone server, or are disabled, the caches fall back to
+ * expiring after {@code picura.change-stream.fallback-ttl}.
+ * Publishes the employee.changestream.active gauge and the employee.changestream.events counter tagged by operation.
+ */
+@Component
+@Profile("!inmemory")
+@Slf4j
+public class EmployeeChangeStream {
+
+    static final String TOKENS_COLLECTION = "employeeChangeStreamTokens";
+
+    // Not a replica set, unknown $changeStream stage, command not supported
+    private static final Set<Integer> UNSUPPORTED = Set.of(40573, 40324, 115);
+    // ChangeStreamHistoryLost, ChangeStreamFatalError, InvalidResumeToken
+    private static final Set<Integer> HISTORY_LOST = Set.of(286, 280, 260);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final SalaryRankIndex salaryRankIndex;
+    private final boolean enabled;
+    private final String instanceId;
+    private final Duration tokenSaveInterval;
+    private final Duration fallbackTtl;
+    private final Map<OperationType, Counter> eventCounters = new EnumMap<>(OperationType.class);
+    private final AtomicReference<BsonValue> resumeToken = new AtomicReference<>();
+    private volatile BsonValue savedToken;
+    private volatile boolean active;
+    private Disposable subscription;
+    private Disposable tokenSaver;
+
+    public EmployeeChangeStream(ReactiveMongoTemplate mongoTemplate,
+                                CacheManager cacheManager,
+                                SalaryRankIndex salaryRankIndex,
+                                MeterRegistry meterRegistry,
+                                @Value("${picura.change-stream.enabled:true}") boolean enabled,
+                                @Value("${picura.change-stream.instance-id:local}") String instanceId,
+                                @Value("${picura.change-stream.token-save-interval:5s}") Duration tokenSaveInterval,
+                                @Value("${picura.change-stream.fallback-ttl:30s}") Duration fallbackTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.salaryRankIndex = salaryRankIndex;
+        this.enabled = enabled;
+        this.instanceId = instanceId;
+        this.tokenSaveInterval = tokenSaveInterval;
+        this.fallbackTtl = fallbackTtl;
+        Gauge.builder("employee.changestream.active", this, stream -> stream.active ? 1 : 0)
+                .description("1 while cache invalidation follows the change stream, 0 while caches rely on expiry")
+                .register(meterRegistry);
+        for (OperationType operation : OperationType.values()) {
+            eventCounters.put(operation, Counter.builder("employee.changestream.events")
+                    .description("Change stream events applied to the local caches")
+                    .tag("operation", operation.getValue())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Opens the change stream from the saved resume token, if any. Runs asynchronously; interruptions are
+     * retried with backoff and resume after the last event seen.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            fallBackToExpiry("disabled by picura.change-stream.enabled");
+            return;
+        }
+        subscription = loadResumeToken()
+                .thenMany(Flux.defer(this::watch)
+                        .repeat()
+                        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1))
+                                .transientErrors(true)
+                                .filter(error -> !UNSUPPORTED.contains(errorCode(error)))
+                                .doBeforeRetry(signal -> interrupted(signal.failure()))))
+                .subscribe(this::apply, error -> fallBackToExpiry(error.getMessage()));
+        tokenSaver = Flux.interval(tokenSaveInterval)
+                .concatMap(tick -> saveResumeToken().onErrorResume(error -> {
+                    log.warn("Could not save the change stream resume token: {}", error.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    /**
+     * Closes the change stream and saves the resume token of the last event.
+     */
+    @PreDestroy
+    public void stop() {
+        if (subscription == null) {
+            return;
+        }
+        subscription.dispose();
+        tokenSaver.dispose();
+        try {
+            saveResumeToken().block(Duration.ofSeconds(5));
+        } catch (RuntimeException e) {
+            log.warn("Could not save the change stream resume token on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private Flux<ChangeStreamEvent<Employee>> watch() {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+        BsonValue token = resumeToken.get();
+        if (token != null) {
+            options.resumeAfter(token);
+        }
+        return mongoTemplate.changeStream(mongoTemplate.getCollectionName(Employee.class), options.build(), Employee.class)
+                .doOnSubscribe(s -> {
+                    active = true;
+                    log.info("Watching employee changes {}", token != null ? "from resume token " + token : "from now");
+                });
+    }
+
+    private void apply(ChangeStreamEvent<Employee> event) {
+        if (event.getOperationType() == null) {
+            return;
+        }
+        eventCounters.get(event.getOperationType()).increment();
+        switch (event.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                evict(documentId(event));
+                if (event.getBody() != null) {
+                    salaryRankIndex.put(event.getBody());
+                }
+            }
+            case DELETE -> {
+                String id = documentId(event);
+                evict(id);
+                if (id != null) {
+                    salaryRankIndex.remove(id);
+                }
+            }
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> {
+                // The stream ends after an invalidate and cannot be resumed from it; it is reopened from now
+                log.warn("Employee collection {}; clearing local caches", event.getOperationType().getValue());
+                clearCaches();
+                resumeToken.set(null);
+                return;
+            }
+            default -> {
+            }
+        }
+        resumeToken.set(event.getResumeToken());
+    }
+
+    private void interrupted(Throwable error) {
+        active = false;
+        if (HISTORY_LOST.contains(errorCode(error))) {
+            log.warn("Change stream cannot resume ({}); clearing local caches and restarting from now", error.getMessage());
+            resumeToken.set(null);
+            clearCaches();
+        } else {
+            log.warn("Change stream interrupted, resuming: {}", error.getMessage());
+        }
+    }
+
+    private void fallBackToExpiry(String reason) {
+        active = false;
+        log.warn("Change streams unavailable ({}); local caches now expire after {}", reason, fallbackTtl);
+        for (String name : List.of(CacheConfig.EMPLOYEE_CACHE, CacheConfig.EMPLOYEES_CACHE)) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                cache.getNativeCache().policy().expireAfterWrite().ifPresent(expiration -> {
+                    if (expiration.getExpiresAfter().compareTo(fallbackTtl) > 0) {
+                        expiration.setExpiresAfter(fallbackTtl);
+                    }
+                });
+            }
+        }
+    }
+
+    private Mono<Void> loadResumeToken() {
+        return mongoTemplate.findById(instanceId, Document.class, TOKENS_COLLECTION)
+                .mapNotNull(document -> document.getString("token"))
+                .map(BsonDocument::parse)
+                .doOnNext(token -> {
+                    resumeToken.set(token);
+                    savedToken = token;
+                })
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("Could not load the change stream resume token, watching from now: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> saveResumeToken() {
+        BsonValue token = resumeToken.get();
+        if (token == null || token.equals(savedToken)) {
+            return Mono.empty();
+        }
+        Update update = Update.update("token", token.asDocument().toJson()).set("updatedAt", Instant.now());
+        return mongoTemplate.upsert(query(where("_id").is(instanceId)), update, TOKENS_COLLECTION)
+                .doOnSuccess(result -> savedToken = token)
+                .then();
+    }
+
+    private void evict(String id) {
+        Cache employeeCache = cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE);
+        if (employeeCache != null && id != null) {
+            employeeCache.evict(id);
+        }
+        Cache employeesCache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        if (employeesCache != null) {
+            employeesCache.clear();
+        }
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private static String documentId(ChangeStreamEvent<Employee> event) {
+        if (event.getRaw() == null || event.getRaw().getDocumentKey() == null) {
+            return null;
+        }
+        BsonValue id = event.getRaw().getDocumentKey().get("_id");
+        if (id == null) {
+            return null;
+        }
+        return id.isString() ? id.asString().getValue() : id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.toString();
+    }
+
+    private static int errorCode(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException) {
+                return mongoException.getCode();
+            }
+        }
+        return -1;
+    }
+}
@@ -1,33 +1,79 @@
 package com.picura.employee.service;
 
+import com.picura.employee.config.CacheConfig;
+import com.picura.employee.config.ConcurrencyLimiters;
+import com.picura.employee.config.ExecutionStrategy;
+import com.picura.employee.config.MicroBatcher;
+import com.picura.employee.config.OperationMetrics;
+import com.picura.employee.config.SingleFlight;
+import com.picura.employee.config.WriteCoalescer;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.picura.employee.dto.BulkResultDTO;
 import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.dto.EmployeePageDTO;
+import com.picura.employee.dto.SalaryExtremesDTO;
 import com.picura.employee.entity.Employee;
 import com.picura.employee.mapper.EmployeeMapper;
+import com.picura.employee.repository.EmployeeCursor;
+import com.picura.employee.repository.EmployeeField;
+import com.picura.employee.repository.EmployeeProjection;
 import com.picura.employee.repository.EmployeeRepository;
+import com.picura.employee.repository.EmployeeSearchKeys;
+import com.picura.employee.repository.EmployeeSortField;
+import com.picura.employee.repository.EmployeeUpdate;
 import com.picura.employee.exception.EmployeeNotFoundException;
+import com.picura.employee.exception.ServiceOverloadedException;
+import com.picura.employee.exception.VersionConflictException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
-import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.function.Tuple2;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing employee-related operations.
  * This service provides methods for CRUD operations, searching, and various employee-specific functionalities.
  * It implements resilience patterns using Resilience4j and caching using Spring Cache.
+ * Concurrent identical reads share one repository call through {@link SingleFlight}, and single lookups
+ * by id are grouped into {@code $in} queries by a {@link MicroBatcher}.
+ * Reads and writes run under separate adaptive {@link ConcurrencyLimiters}; the streaming export and
+ * bulk ingest are bounded by their own batch sizes and concurrency instead.
+ * Single employees are cached by id and evicted individually on every mutation.
+ * Returned pipelines run according to the configured {@link ExecutionStrategy} and are metered
+ * per operation by {@link OperationMetrics}.
+ * Every write is also applied to the in-process {@link SalaryRankIndex}.
+ * With {@code picura.write-behind.enabled}, unconditional updates and promotions are queued in a
+ * {@link WriteCoalescer} and written in bulk, and their callers complete once their batch is written.
  */
 @Service
 @Slf4j
@@ -35,42 +81,130 @@ import java.util.function.Function;
 public class EmployeeService {
     
     private static final String EMPLOYEE_SERVICE = "employeeService";
+
+    private static final Comparator<SearchHit> SEARCH_RANKING = Comparator
+            .comparingInt(SearchHit::score).reversed()
+            .thenComparing(hit -> hit.employee().getNombre(), Comparator.nullsLast(Comparator.naturalOrder()));
     
     private final EmployeeRepository employeeRepository;
     private final EmployeeMapper employeeMapper;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final SingleFlight singleFlight;
+    private final MicroBatcher<String, Employee> employeeByIdBatcher;
+    private final WriteCoalescer<String, EmployeeUpdate, Employee> employeeWriteBehind;
+    private final ConcurrencyLimiters concurrencyLimiters;
+    private final ExecutionStrategy executionStrategy;
+    private final OperationMetrics operationMetrics;
+    private final SalaryRankIndex salaryRankIndex;
+
+    @Value("${picura.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    @Value("${picura.bulk.concurrency:2}")
+    private int bulkConcurrency;
+
+    @Value("${picura.export.batch-size:1000}")
+    private int exportBatchSize;
+
+    @Value("${picura.search.max-candidates:1000}")
+    private int searchMaxCandidates;
+
+    @Value("${picura.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
 
     /**
      * Retrieves all employees with pagination.
      *
      * @param pageable Pagination information
+     * @param projection Fields to read and return
      * @return Flux of EmployeeDTO
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE, fallbackMethod = "getAllEmployeesFallback")
     @Retry(name = EMPLOYEE_SERVICE)
-    @RateLimiter(name = EMPLOYEE_SERVICE)
-    @Bulkhead(name = EMPLOYEE_SERVICE)
-    @Cacheable(value = "employeesCache", key = "#pageable")
-    public Flux<EmployeeDTO> getAllEmployees(Pageable pageable) {
-        log.info("Fetching employees page: {}", pageable);
-        return employeeRepository.findAll(pageable.getSort())
-                .skip(pageable.getPageNumber() * pageable.getPageSize())
-                .take(pageable.getPageSize())
-                .map(employeeMapper::toDTO)
-                .subscribeOn(Schedulers.boundedElastic());
+    @Cacheable(value = CacheConfig.EMPLOYEES_CACHE, key = "{#pageable, #projection}")
+    public Flux<EmployeeDTO> getAllEmployees(Pageable pageable, EmployeeProjection projection) {
+        log.info("Fetching employees page: {} with fields {}", pageable, projection);
+        return singleFlight.flux("findAllBy", List.of(pageable, projection),
+                        () -> employeeRepository.findAllBy(pageable, projection))
+                .map(employee -> employeeMapper.toDTO(employee, projection))
+                .transform(concurrencyLimiters.reads()::flux)
+                .transform(executionStrategy::flux)
+                .transform(operationMetrics.flux("getAllEmployees"));
     }
 
     /**
      * Fallback method for getAllEmployees.
      *
      * @param pageable Pagination information
+     * @param projection Fields to read and return
      * @param t Throwable that triggered the fallback
-     * @return Empty Flux of EmployeeDTO
+     * @return Empty Flux of EmployeeDTO, or the error if the request was shed so that clients get a 503
      */
-    public Flux<EmployeeDTO> getAllEmployeesFallback(Pageable pageable, Throwable t) {
+    public Flux<EmployeeDTO> getAllEmployeesFallback(Pageable pageable, EmployeeProjection projection, Throwable t) {
+        if (t instanceof ServiceOverloadedException) {
+            return Flux.error(t);
+        }
         log.error("Error fetching employees", t);
+        operationMetrics.recordFallback("getAllEmployees");
         return Flux.empty();
     }
 
+    /**
+     * Retrieves a page of employees using keyset (cursor) pagination.
+     * When a cursor is given, its sort key and direction take precedence over the requested ones,
+     * so a listing keeps a stable order across pages.
+     *
+     * @param sortField Sort key used for the first page
+     * @param direction Sort direction used for the first page
+     * @param size Maximum number of employees in the page
+     * @param cursor Opaque cursor returned with the previous page, or null for the first page
+     * @return Mono of EmployeePageDTO with the employees and the cursor for the next page
+     */
+    @CircuitBreaker(name = EMPLOYEE_SERVICE)
+    @Retry(name = EMPLOYEE_SERVICE)
+    public Mono<EmployeePageDTO> getEmployeesPage(EmployeeSortField sortField, Sort.Direction direction, int size, String cursor) {
+        EmployeeCursor after = cursor != null ? EmployeeCursor.decode(cursor) : null;
+        EmployeeSortField effectiveSortField = after != null ? after.getSortField() : sortField;
+        Sort.Direction effectiveDirection = after != null ? after.getDirection() : direction;
+        log.info("Fetching employees page sorted by {} {} with size {} after cursor {}", effectiveSortField, effectiveDirection, size, cursor);
+        return employeeRepository.findPageAfter(effectiveSortField, effectiveDirection, after, size + 1)
+                .collectList()
+                .map(employees -> {
+                    boolean hasMore = employees.size() > size;
+                    List<Employee> page = hasMore ? employees.subList(0, size) : employees;
+                    String nextCursor = hasMore
+                            ? EmployeeCursor.after(page.get(page.size() - 1), effectiveSortField, effectiveDirection).encode()
+                            : null;
+                    return EmployeePageDTO.builder()
+                            .content(page.stream().map(employeeMapper::toDTO).toList())
+                            .nextCursor(nextCursor)
+                            .hasMore(hasMore)
+                            .build();
+                })
+                .transform(concurrencyLimiters.reads()::mono)
+                .transform(executionStrategy::mono)
+                .transform(operationMetrics.mono("getEmployeesPage"));
+    }
+
+    /**
+     * Streams every employee for export.
+     * The Mongo cursor is read in batches of {@code picura.export.batch-size} and demand is forwarded
+     * in the same chunks, so the whole collection flows through with constant memory.
+     *
+     * @return Flux of EmployeeDTO with all employees
+     */
+    @CircuitBreaker(name = EMPLOYEE_SERVICE)
+    public Flux<EmployeeDTO> exportEmployees() {
+        log.info("Exporting all employees with cursor batch size {}", exportBatchSize);
+        return employeeRepository.streamAll(exportBatchSize)
+                .map(employeeMapper::toDTO)
+                .limitRate(exportBatchSize)
+                .doOnComplete(() -> log.info("Employee export completed"))
+                .transform(executionStrategy::flux)
+                .transform(operationMetrics.flux("exportEmployees"));
+    }
+
     /**
      * Retrieves an employee by their ID.
      *
@@ -79,13 +213,77 @@ public class EmployeeService {
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE, fallbackMethod = "getEmployeeByIdFallback")
     @Retry(name = EMPLOYEE_SERVICE)
-    @Cacheable(value = "employeeCache", key = "#id")
+    @Cacheable(value = CacheConfig.EMPLOYEE_CACHE, key = "#id")
     public Mono<EmployeeDTO> getEmployeeById(String id) {
         log.info("Fetching employee with id: {}", id);
-        return employeeRepository.findById(id)
+        return loadEmployee(id, "getEmployeeById");
+    }
+
+    /**
+     * Retrieves an employee by their ID bypassing the cached copy, which may be older than the stored
+     * employee, and caches the employee read.
+     * Used when the body must be as recent as a version just read, as when answering a failed If-None-Match.
+     *
+     * @param id Employee ID
+     * @return Mono of EmployeeDTO
+     */
+    @CircuitBreaker(name = EMPLOYEE_SERVICE)
+    @Retry(name = EMPLOYEE_SERVICE)
+    @CachePut(value = CacheConfig.EMPLOYEE_CACHE, key = "#id")
+    public Mono<EmployeeDTO> reloadEmployeeById(String id) {
+        log.info("Reloading employee with id: {}", id);
+        return loadEmployee(id, "reloadEmployeeById");
+    }
+
+    private Mono<EmployeeDTO> loadEmployee(String id, String operation) {
+        return singleFlight.mono("findById", List.of(id), () -> employeeByIdBatcher.load(id))
+                .map(employeeMapper::toDTO)
+                .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee not found with id: " + id)))
+                .transform(concurrencyLimiters.reads()::mono)
+                .transform(executionStrategy::mono)
+                .transform(operationMetrics.mono(operation));
+    }
+
+    /**
+     * Retrieves many employees with a single {@code $in} query.
+     * Mongo returns the documents in index order, so they are re-sequenced and each employee is emitted
+     * as soon as every employee requested before it has arrived or is known to be missing.
+     *
+     * @param ids Employee IDs; repeated IDs are resolved once
+     * @return Flux of the EmployeeDTO found, in the order of the IDs
+     */
+    @CircuitBreaker(name = EMPLOYEE_SERVICE)
+    @Retry(name = EMPLOYEE_SERVICE)
+    public Flux<EmployeeDTO> getEmployeesByIds(List<String> ids) {
+        List<String> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        log.info("Fetching {} employees by id", distinctIds.size());
+        return Flux.defer(() -> {
+                    RequestOrder order = new RequestOrder(distinctIds);
+                    return employeeRepository.findAllById(distinctIds)
+                            .concatMapIterable(order::arrived)
+                            .concatWith(Flux.defer(() -> Flux.fromIterable(order.remaining())));
+                })
                 .map(employeeMapper::toDTO)
+                .transform(concurrencyLimiters.reads()::flux)
+                .transform(executionStrategy::flux)
+                .transform(operationMetrics.flux("getEmployeesByIds"));
+    }
+
+    /**
+     * Retrieves only the version of an employee, reading a version-only projection.
+     * Used to answer conditional requests without loading, mapping or serializing the employee.
+     *
+     * @param id Employee ID
+     * @return Mono of the employee version
+     */
+    @CircuitBreaker(name = EMPLOYEE_SERVICE)
+    @Retry(name = EMPLOYEE_SERVICE)
+    public Mono<Long> getEmployeeVersion(String id) {
+        return singleFlight.mono("findVersionById", List.of(id), () -> employeeRepository.findVersionById(id))
                 .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee not found with id: " + id)))
-                .subscribeOn(Schedulers.boundedElastic());
+                .transform(concurrencyLimiters.reads()::mono)
+                .transform(executionStrategy::mono)
+                .transform(operationMetrics.mono("getEmployeeVersion"));
     }
 
     /**
@@ -93,10 +291,15 @@ public class EmployeeService {
      *
      * @param id Employee ID
      * @param t Throwable that triggered the fallback
-     * @return Empty Mono of EmployeeDTO
+     * @return Empty Mono of EmployeeDTO, or the error if the request was shed or the employee does not exist,
+     *         so that clients get a 503 or a 404
      */
     public Mono<EmployeeDTO> getEmployeeByIdFallback(String id, Throwable t) {
+        if (t instanceof ServiceOverloadedException || t instanceof EmployeeNotFoundException) {
+            return Mono.error(t);
+        }
         log.error("Error fetching employee with id: {}", id, t);
+        operationMetrics.recordFallback("getEmployeeById");
         return Mono.empty();
     }
 
@@ -108,149 +311,342 @@ public class EmployeeService {
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE)
     @Retry(name = EMPLOYEE_SERVICE)
-    @CacheEvict(value = "employeesCache", allEntries = true)
+    @CacheEvict(value = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
     public Mono<EmployeeDTO> createEmployee(EmployeeDTO employeeDTO) {
         employeeDTO.setId(UUID.randomUUID().toString());
         log.info("Creating new employee: {}", employeeDTO);
         return Mono.just(employeeDTO)
                 .map(employeeMapper::toEntity)
                 .flatMap(employeeRepository::save)
+                .doOnNext(salaryRankIndex::put)
                 .map(employeeMapper::toDTO)
                 .doOnSuccess(e -> log.info("Employee created successfully: {}", e))
-                .subscribeOn(Schedulers.boundedElastic());
+                .transform(concurrencyLimiters.writes()::mono)
+                .transform(executionStrategy::mono)
+                .transform(operationMetrics.mono("createEmployee"));
     }
 
     /**
-     * Updates an existing employee.
+     * Creates or replaces employees from a stream of records using unordered bulk writes.
+     * Records are validated one by one, grouped into batches of {@code picura.bulk.batch-size} and
+     * written with at most {@code picura.bulk.concurrency} batches in flight, so the input is consumed
+     * only as fast as Mongo acknowledges the writes. Records without an id are created, records with
+     * an id are upserted by id. Cache entries of written employees are evicted as each batch completes;
+     * this is done programmatically because {@code @CacheEvict} would truncate the returned Flux.
+     *
+     * @param employees Flux of EmployeeDTO records to write
+     * @return Flux of BulkResultDTO with one result per input record, in input order
+     */
+    @CircuitBreaker(name = EMPLOYEE_SERVICE)
+    public Flux<BulkResultDTO> bulkUpsertEmployees(Flux<EmployeeDTO> employees) {
+        log.info("Starting bulk employee ingest with batch size {} and concurrency {}", bulkBatchSize, bulkConcurrency);
+        return employees
+                .index()
+                .buffer(bulkBatchSize)
+                .flatMapSequential(this::writeBatch, bulkConcurrency)
+                .doOnComplete(() -> log.info("Bulk employee ingest completed"))
+                .transform(operationMetrics.flux("bulkUpsertEmployees"));
+    }
+
+    /**
+     * Validates and writes one batch of indexed records.
+     *
+     * @param batch Records of the batch paired with their position in the input stream
+     * @return Flux of BulkResultDTO with one result per record of the batch
+     */
+    private Flux<BulkResultDTO> writeBatch(List<Tuple2<Long, EmployeeDTO>> batch) {
+        BulkResultDTO[] results = new BulkResultDTO[batch.size()];
+        List<Integer> positions = new ArrayList<>(batch.size());
+        List<Employee> employees = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            long index = batch.get(i).getT1();
+            EmployeeDTO employeeDTO = batch.get(i).getT2();
+            Set<ConstraintViolation<EmployeeDTO>> violations = validator.validate(employeeDTO);
+            if (!violations.isEmpty()) {
+                results[i] = bulkResult(index, employeeDTO.getId(), BulkResultDTO.Status.INVALID, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+            Employee employee = employeeMapper.toEntity(employeeDTO);
+            if (employeeDTO.getId() != null) {
+                employee.setId(employeeDTO.getId());
+            }
+            positions.add(i);
+            employees.add(employee);
+        }
+        if (employees.isEmpty()) {
+            return Flux.fromArray(results);
+        }
+        return employeeRepository.bulkUpsert(employees)
+                .doFinally(signal -> evictWritten(employees))
+                .map(result -> {
+                    fillBulkResults(batch, results, positions, employees, result, List.of(), null);
+                    return results;
+                })
+                .onErrorResume(BulkOperationException.class, e -> {
+                    log.warn("Bulk write completed with {} failed records", e.getErrors().size());
+                    fillBulkResults(batch, results, positions, employees, e.getResult(), e.getErrors(), null);
+                    return Mono.just(results);
+                })
+                .onErrorResume(e -> {
+                    log.error("Bulk write of {} records failed", employees.size(), e);
+                    fillBulkResults(batch, results, positions, employees, null, List.of(), e.getMessage());
+                    return Mono.just(results);
+                })
+                .flatMapMany(Flux::fromArray);
+    }
+
+    /**
+     * Translates a bulk write outcome into per-record results.
+     *
+     * @param batch Records of the batch paired with their position in the input stream
+     * @param results Results of the batch, filled in place
+     * @param positions Position within the batch of every written employee
+     * @param employees Employees sent to the bulk write
+     * @param result Bulk write result, or null if the whole write failed
+     * @param errors Per-document write errors
+     * @param failure Failure message for the whole write, or null
+     */
+    private void fillBulkResults(List<Tuple2<Long, EmployeeDTO>> batch, BulkResultDTO[] results, List<Integer> positions,
+                                 List<Employee> employees, BulkWriteResult result, List<BulkWriteError> errors, String failure) {
+        Set<Integer> upserted = result == null ? Set.of() : result.getUpserts().stream()
+                .map(BulkWriteUpsert::getIndex)
+                .collect(Collectors.toSet());
+        Map<Integer, String> failed = errors.stream()
+                .collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage));
+        for (int i = 0; i < employees.size(); i++) {
+            int position = positions.get(i);
+            long index = batch.get(position).getT1();
+            String id = employees.get(i).getId();
+            if (failure != null) {
+                results[position] = bulkResult(index, id, BulkResultDTO.Status.FAILED, failure);
+            } else if (failed.containsKey(i)) {
+                results[position] = bulkResult(index, id, BulkResultDTO.Status.FAILED, failed.get(i));
+            } else if (upserted.contains(i)) {
+                results[position] = bulkResult(index, id, BulkResultDTO.Status.CREATED, null);
+                salaryRankIndex.put(employees.get(i));
+            } else {
+                results[position] = bulkResult(index, id, BulkResultDTO.Status.UPDATED, null);
+                salaryRankIndex.put(employees.get(i));
+            }
+        }
+    }
+
+    private void evictWritten(List<Employee> employees) {
+        Cache employeeCache = cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE);
+        if (employeeCache != null) {
+            employees.forEach(employee -> employeeCache.evict(employee.getId()));
+        }
+        Cache employeesCache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        if (employeesCache != null) {
+            employeesCache.clear();
+        }
+    }
+
+    private BulkResultDTO bulkResult(long index, String id, BulkResultDTO.Status status, String message) {
+        return BulkResultDTO.builder()
+                .index(index)
+                .id(id)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Updates an existing employee with a single atomic findAndModify, or through the write-behind queue
+     * when it is enabled and no version is expected.
      *
      * @param id Employee ID
      * @param employeeDTO EmployeeDTO containing updated employee information
+     * @param expectedVersion Version the employee must still have, or null to update unconditionally
      * @return Mono of updated EmployeeDTO
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE)
     @Retry(name = EMPLOYEE_SERVICE)
-    @CacheEvict(value = {"employeeCache", "employeesCache"}, allEntries = true)
-    public Mono<EmployeeDTO> updateEmployee(String id, EmployeeDTO employeeDTO) {
+    @Caching(evict = {
+        @CacheEvict(value = CacheConfig.EMPLOYEE_CACHE, key = "#id"),
+        @CacheEvict(value = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    })
+    public Mono<EmployeeDTO> updateEmployee(String id, EmployeeDTO employeeDTO, Long expectedVersion) {
         log.info("Updating employee with id: {}", id);
-        return employeeRepository.findById(id)
-                .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee not found with id: " + id)))
-                .flatMap(existingEmployee -> {
-                    employeeMapper.updateEntityFromDTO(employeeDTO, existingEmployee);
-                    return employeeRepository.save(existingEmployee);
-                })
+        EmployeeUpdate update = EmployeeUpdate.builder()
+                .nombre(employeeDTO.getNombre())
+                .puesto(employeeDTO.getPuesto())
+                .salario(employeeDTO.getSalario())
+                .fechaContratacion(employeeDTO.getFechaContratacion())
+                .build();
+        return applyUpdate(id, update, expectedVersion)
+                .switchIfEmpty(notUpdated(id, expectedVersion))
+                .doOnNext(salaryRankIndex::put)
                 .map(employeeMapper::toDTO)
                 .doOnSuccess(e -> log.info("Employee updated successfully: {}", e))
-                .subscribeOn(Schedulers.boundedElastic());
+                .transform(executionStrategy::mono)
+                .transform(operationMetrics.mono("updateEmployee"));
     }
 
     /**
-     * Deletes an employee by their ID.
+     * Deletes an employee by their ID with a single deleteOne.
+     * Not retried: if the reply of a delete that was applied is lost, a retry would find nothing and answer 404.
      *
      * @param id Employee ID
      * @return Mono<Void> indicating completion of the operation
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE)
-    @Retry(name = EMPLOYEE_SERVICE)
-    @CacheEvict(value = {"employeeCache", "employeesCache"}, allEntries = true)
+    @Caching(evict = {
+        @CacheEvict(value = CacheConfig.EMPLOYEE_CACHE, key = "#id"),
+        @CacheEvict(value = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    })
     public Mono<Void> deleteEmployee(String id) {
         log.info("Deleting employee with id: {}", id);
-        return employeeRepository.findById(id)
+        return employeeRepository.removeById(id)
+                .filter(deleted -> deleted > 0)
                 .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee not found with id: " + id)))
-                .flatMap(employee -> employeeRepository.deleteById(id))
+                .doOnNext(deleted -> salaryRankIndex.remove(id))
+                .then()
                 .doOnSuccess(v -> log.info("Employee deleted successfully with id: {}", id))
-                .subscribeOn(Schedulers.boundedElastic());
+                .transform(concurrencyLimiters.writes()::mono)
+                .transform(executionStrategy::mono)
+                .transform(operationMetrics.mono("deleteEmployee"));
     }
 
     /**
-     * Searches for employees based on a query string.
+     * Searches employees by name, ignoring case and accents.
+     * Candidates are fetched in roughly the order of their relevance, bounded by picura.search.max-candidates:
+     * first the names starting with the query, exact name first, through the searchKey index, then the names
+     * containing every query word through the searchTokens index. They are then verified and ranked: exact names
+     * first, then exact words, word prefixes and infixes. Only the word and infix matches can be left out when
+     * there are more candidates than the bound.
      *
      * @param query Search query
-     * @return Flux of EmployeeDTO matching the search criteria
+     * @param limit Maximum number of results
+     * @param projection Fields to return; the name and id are always read since ranking and deduplication need them
+     * @return Flux of EmployeeDTO matching the search criteria, most relevant first
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE)
     @Retry(name = EMPLOYEE_SERVICE)
-    public Flux<EmployeeDTO> searchEmployees(String query) {
+    public Flux<EmployeeDTO> searchEmployees(String query, int limit, EmployeeProjection projection) {
         log.info("Searching employees with query: {}", query);
-        return employeeRepository.findByNombreContainingIgnoreCase(query)
-                .map(employeeMapper::toDTO)
-                .subscribeOn(Schedulers.boundedElastic());
+        String normalizedQuery = EmployeeSearchKeys.normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return Flux.empty();
+        }
+        // The id is read even when not requested, since candidates found by both queries are told apart by it
+        EmployeeProjection candidateProjection = projection.with(EmployeeField.NOMBRE, EmployeeField.ID);
+        return Flux.concat(
+                        employeeRepository.findBySearchKeyStartingWith(normalizedQuery, searchMaxCandidates, candidateProjection),
+                        employeeRepository.findBySearchTokensAll(EmployeeSearchKeys.queryTokens(normalizedQuery),
+                                PageRequest.of(0, searchMaxCandidates), candidateProjection))
+                .distinct(Employee::getId)
+                .take(searchMaxCandidates)
+                .map(employee -> new SearchHit(employee,
+                        EmployeeSearchKeys.score(EmployeeSearchKeys.normalize(employee.getNombre()), normalizedQuery)))
+                .filter(hit -> hit.score() >= 0)
+                .collectSortedList(SEARCH_RANKING)
+                .flatMapIterable(hits -> hits.subList(0, Math.min(limit, hits.size())))
+                .map(hit -> employeeMapper.toDTO(hit.employee(), projection))
+                .transform(concurrencyLimiters.reads()::flux)
+                .transform(executionStrategy::flux)
+                .transform(operationMetrics.flux("searchEmployees"));
     }
 
     /**
      * Promotes an employee to a new position with a salary increase.
+     * The increase is applied with $inc on the server, so concurrent promotions all take effect.
+     * Not retried, since a retry after a lost reply would apply the increase twice.
+     * With write-behind enabled, unconditional promotions are queued and merged like updates.
      *
      * @param id Employee ID
      * @param newPosition New position for the employee
      * @param salaryIncrease Amount to increase the employee's salary
+     * @param expectedVersion Version the employee must still have, or null to promote unconditionally
      * @return Mono of updated EmployeeDTO
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE)
-    @Retry(name = EMPLOYEE_SERVICE)
-    public Mono<EmployeeDTO> promoteEmployee(String id, String newPosition, double salaryIncrease) {
+    @Caching(evict = {
+        @CacheEvict(value = CacheConfig.EMPLOYEE_CACHE, key = "#id"),
+        @CacheEvict(value = CacheConfig.EMPLOYEES_CACHE, allEntries = true)
+    })
+    public Mono<EmployeeDTO> promoteEmployee(String id, String newPosition, double salaryIncrease, Long expectedVersion) {
         log.info("Promoting employee with id: {} to position: {} with salary increase: {}", id, newPosition, salaryIncrease);
-        return employeeRepository.findById(id)
-                .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee not found with id: " + id)))
-                .flatMap(employee -> {
-                    employee.setPuesto(newPosition);
-                    employee.setSalario(employee.getSalario() + salaryIncrease);
-                    return employeeRepository.save(employee);
-                })
+        EmployeeUpdate update = EmployeeUpdate.builder()
+                .puesto(newPosition)
+                .salarioIncrement(salaryIncrease)
+                .build();
+        return applyUpdate(id, update, expectedVersion)
+                .switchIfEmpty(notUpdated(id, expectedVersion))
+                .doOnNext(salaryRankIndex::put)
                 .map(employeeMapper::toDTO)
                 .doOnSuccess(e -> log.info("Employee promoted successfully: {}", e))
-                .subscribeOn(Schedulers.boundedElastic());
+                .transform(executionStrategy::mono)
+                .transform(operationMetrics.mono("promoteEmployee"));
     }
 
     /**
      * Retrieves the top earners among employees.
      *
      * @param limit Number of top earners to retrieve
+     * @param projection Fields to read and return
      * @return Flux of EmployeeDTO representing the top earners
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE)
     @Retry(name = EMPLOYEE_SERVICE)
-    public Flux<EmployeeDTO> getTopEarners(int limit) {
+    public Flux<EmployeeDTO> getTopEarners(int limit, EmployeeProjection projection) {
         log.info("Fetching top {} earners", limit);
-        return employeeRepository.findAllOrderBySalarioDesc(Pageable.ofSize(limit))
-                .map(employeeMapper::toDTO)
-                .subscribeOn(Schedulers.boundedElastic());
+        return singleFlight.flux("findAllOrderBySalarioDesc", List.of(limit, projection),
+                        () -> employeeRepository.findAllOrderBySalarioDesc(Pageable.ofSize(limit), projection))
+                .map(employee -> employeeMapper.toDTO(employee, projection))
+                .transform(concurrencyLimiters.reads()::flux)
+                .transform(executionStrategy::flux)
+                .transform(operationMetrics.flux("getTopEarners"));
     }
 
     /**
      * Retrieves employees with the minimum and maximum salary.
+     * Both are resolved by indexed limit-1 queries, so latency does not depend on the collection size.
      *
-     * @return Mono of Tuple2 containing EmployeeDTO with min and max salary
+     * @return Mono of SalaryExtremesDTO with the lowest- and highest-paid employees
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE)
     @Retry(name = EMPLOYEE_SERVICE)
-    public Mono<Tuple2<EmployeeDTO, EmployeeDTO>> getEmployeesWithMinMaxSalary() {
+    public Mono<SalaryExtremesDTO> getEmployeesWithMinMaxSalary() {
         log.info("Fetching employees with minimum and maximum salary");
-        return employeeRepository.findAll()
-                .collectList()
-                .flatMap(employees -> {
-                    Employee minSalaryEmployee = employees.stream().min((e1, e2) -> Double.compare(e1.getSalario(), e2.getSalario())).orElseThrow();
-                    Employee maxSalaryEmployee = employees.stream().max((e1, e2) -> Double.compare(e1.getSalario(), e2.getSalario())).orElseThrow();
-                    return Mono.zip(
-                            Mono.just(employeeMapper.toDTO(minSalaryEmployee)),
-                            Mono.just(employeeMapper.toDTO(maxSalaryEmployee))
-                    );
-                })
-                .subscribeOn(Schedulers.boundedElastic());
+        return Mono.zip(
+                        singleFlight.mono("findFirstByOrderBySalarioAsc", List.of(), employeeRepository::findFirstByOrderBySalarioAsc)
+                                .map(employeeMapper::toDTO),
+                        singleFlight.mono("findFirstByOrderBySalarioDesc", List.of(), employeeRepository::findFirstByOrderBySalarioDesc)
+                                .map(employeeMapper::toDTO))
+                .map(extremes -> SalaryExtremesDTO.builder()
+                        .lowestPaid(extremes.getT1())
+                        .highestPaid(extremes.getT2())
+                        .build())
+                .switchIfEmpty(Mono.error(new EmployeeNotFoundException("No employees found")))
+                .transform(concurrencyLimiters.reads()::mono)
+                .transform(executionStrategy::mono)
+                .transform(operationMetrics.mono("getEmployeesWithMinMaxSalary"));
     }
 
     /**
-     * Retrieves employees hired within the last specified number of months.
+     * Streams the employees hired within the last specified number of months, most recent first.
+     * The hire date range is read through its index in cursor batches of {@code picura.export.batch-size}.
      *
      * @param months Number of months to look back
+     * @param puesto Position to restrict the results to, or null for every position
+     * @param projection Fields to read and return
      * @return Flux of EmployeeDTO representing recent hires
      */
     @CircuitBreaker(name = EMPLOYEE_SERVICE)
     @Retry(name = EMPLOYEE_SERVICE)
-    public Flux<EmployeeDTO> getRecentHires(int months) {
-        log.info("Fetching employees hired in the last {} months", months);
+    public Flux<EmployeeDTO> getRecentHires(int months, String puesto, EmployeeProjection projection) {
+        log.info("Fetching employees hired in the last {} months with position {}", months, puesto);
         LocalDate cutoffDate = LocalDate.now().minusMonths(months);
-        return employeeRepository.findByFechaContratacionAfterAndPuesto(cutoffDate, null)
-                .map(employeeMapper::toDTO)
-                .subscribeOn(Schedulers.boundedElastic());
+        return employeeRepository.findHiredSince(cutoffDate, puesto, projection, exportBatchSize)
+                .map(employee -> employeeMapper.toDTO(employee, projection))
+                .limitRate(exportBatchSize)
+                .transform(concurrencyLimiters.reads()::flux)
+                .transform(executionStrategy::flux)
+                .transform(operationMetrics.flux("getRecentHires"));
     }
 
     /**
@@ -265,4 +661,75 @@ public class EmployeeService {
             return Mono.error(throwable);
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes an update with its own findAndModify under the write limiter, or queues it for the next
+     * write-behind flush when write-behind is enabled and the update is unconditional. Queued updates are
+     * bounded by the queue capacity rather than the limiter, whose latency samples would include the queueing delay.
+     * Conditional updates always go straight to Mongo, so they are not ordered against queued ones.
+     */
+    private Mono<Employee> applyUpdate(String id, EmployeeUpdate update, Long expectedVersion) {
+        if (writeBehindEnabled && expectedVersion == null) {
+            return employeeWriteBehind.submit(id, update);
+        }
+        return employeeRepository.updateAndGet(id, update, expectedVersion)
+                .transform(concurrencyLimiters.writes()::mono);
+    }
+
+    /**
+     * Explains why a conditional update matched no document: the employee is gone, or it is at another version.
+     * Only runs on the failure path, so successful updates keep their single round trip.
+     */
+    private Mono<Employee> notUpdated(String id, Long expectedVersion) {
+        Mono<Employee> notFound = Mono.error(new EmployeeNotFoundException("Employee not found with id: " + id));
+        if (expectedVersion == null) {
+            return notFound;
+        }
+        return Mono.defer(() -> employeeRepository.findVersionById(id))
+                .flatMap(version -> Mono.<Employee>error(new VersionConflictException(
+                        "Employee " + id + " is at version " + version + ", not " + expectedVersion)))
+                .switchIfEmpty(notFound);
+    }
+
+    private record SearchHit(Employee employee, int score) {
+    }
+
+    /**
+     * Re-sequences the employees of one batch lookup into the order of the requested IDs.
+     * Not thread-safe; fed by the serialized signals of a single query.
+     */
+    private static final class RequestOrder {
+
+        private final List<String> ids;
+        private final Map<String, Employee> arrived = new HashMap<>();
+        private int next;
+
+        private RequestOrder(List<String> ids) {
+            this.ids = ids;
+        }
+
+        private List<Employee> arrived(Employee employee) {
+            arrived.put(employee.getId(), employee);
+            return release(false);
+        }
+
+        private List<Employee> remaining() {
+            return release(true);
+        }
+
+        private List<Employee> release(boolean complete) {
+            List<Employee> ready = new ArrayList<>();
+            while (next < ids.size()) {
+                Employee employee = arrived.remove(ids.get(next));
+                if (employee == null && !complete) {
+                    break;
+                }
+                if (employee != null) {
+                    ready.add(employee);
+                }
+                next++;
+            }
+            return ready;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.picura.employee.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.picura.employee.dto.HireBucketDTO;
+import com.picura.employee.exception.InvalidDateRangeException;
+import com.picura.employee.repository.EmployeeRepository;
+import com.picura.employee.repository.HireBucket;
+import com.picura.employee.repository.HirePeriod;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service class for hiring analytics.
+ * Hires are counted per day, week or month by an aggregation pipeline over the hire date index, so a
+ * dashboard receives one small document per period instead of the employees themselves. Series are
+ * cached and refreshed in the background like the salary analytics.
+ */
+@Service
+@Slf4j
+public class HireAnalyticsService {
+
+    private static final String EMPLOYEE_SERVICE = "employeeService";
+
+    private final EmployeeRepository employeeRepository;
+    private final int maxBuckets;
+    private final AsyncLoadingCache<SeriesKey, List<HireBucketDTO>> seriesCache;
+
+    public HireAnalyticsService(EmployeeRepository employeeRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${picura.analytics.hires.max-buckets:1000}") int maxBuckets,
+                                @Value("${picura.analytics.cache.maximum-size:100}") long maximumSize,
+                                @Value("${picura.analytics.cache.refresh-after:1m}") Duration refreshAfter,
+                                @Value("${picura.analytics.cache.ttl:10m}") Duration ttl) {
+        this.employeeRepository = employeeRepository;
+        this.maxBuckets = maxBuckets;
+        this.seriesCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<SeriesKey, List<HireBucketDTO>>buildAsync((key, executor) ->
+                        loadHires(key).collectList().toFuture()), "hiresCache");
+    }
+
+    /**
+     * Retrieves the number of hires per period within a date range, including periods without hires.
+     *
+     * @param period Bucket width
+     * @param from First hire date, inclusive
+     * @param to Last hire date, inclusive
+     * @param puesto Position to restrict the series to, or null for all employees
+     * @return Flux of HireBucketDTO ordered by period start
+     * @throws InvalidDateRangeException if the range is reversed or spans more than picura.analytics.hires.max-buckets periods
+     */
+    @CircuitBreaker(name = EMPLOYEE_SERVICE)
+    public Flux<HireBucketDTO> getHires(HirePeriod period, LocalDate from, LocalDate to, String puesto) {
+        log.info("Fetching hires per {} from {} to {} for position {}", period, from, to, puesto);
+        if (to.isBefore(from)) {
+            return Flux.error(new InvalidDateRangeException("The range starts on " + from + ", after its end on " + to));
+        }
+        long buckets = period.bucketsBetween(from, to);
+        if (buckets > maxBuckets) {
+            return Flux.error(new InvalidDateRangeException("The range spans " + buckets + " periods of one "
+                    + period.getUnit() + ", more than the maximum of " + maxBuckets));
+        }
+        return Mono.fromFuture(() -> seriesCache.get(new SeriesKey(period, from, to, puesto)))
+                .flatMapIterable(series -> series);
+    }
+
+    private Flux<HireBucketDTO> loadHires(SeriesKey key) {
+        log.debug("Loading hires {}", key);
+        return employeeRepository.aggregateHiresByPeriod(key.period(), key.from(), key.to(), key.puesto())
+                .map(this::toBucketDTO);
+    }
+
+    private HireBucketDTO toBucketDTO(HireBucket bucket) {
+        return HireBucketDTO.builder()
+                .start(bucket.getStart())
+                .count(bucket.getCount())
+                .build();
+    }
+
+    private record SeriesKey(HirePeriod period, LocalDate from, LocalDate to, String puesto) {
+    }
+}
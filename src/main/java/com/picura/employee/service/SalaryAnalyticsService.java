@@ -0,0 +1,197 @@
+package com.picura.employee.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.picura.employee.dto.SalaryHistogramBucketDTO;
+import com.picura.employee.dto.SalaryRangeCountDTO;
+import com.picura.employee.dto.SalaryRankDTO;
+import com.picura.employee.dto.SalaryStatsDTO;
+import com.picura.employee.exception.EmployeeNotFoundException;
+import com.picura.employee.repository.EmployeeRepository;
+import com.picura.employee.repository.SalaryBucket;
+import com.picura.employee.repository.SalaryStatistics;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for salary analytics.
+ * Statistics are computed by aggregation pipelines in Mongo and kept in short-lived caches that are
+ * refreshed in the background, so dashboards polling the same figures are answered from memory
+ * while a reload is in flight.
+ * Ranks, top salaries and salary range counts are answered from the in-process {@link SalaryRankIndex}.
+ */
+@Service
+@Slf4j
+public class SalaryAnalyticsService {
+
+    private static final String EMPLOYEE_SERVICE = "employeeService";
+
+    private final EmployeeRepository employeeRepository;
+    private final SalaryRankIndex salaryRankIndex;
+    private final AsyncLoadingCache<List<Double>, List<SalaryStatsDTO>> statsCache;
+    private final AsyncLoadingCache<HistogramKey, List<SalaryHistogramBucketDTO>> histogramCache;
+
+    public SalaryAnalyticsService(EmployeeRepository employeeRepository,
+                                  SalaryRankIndex salaryRankIndex,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${picura.analytics.cache.maximum-size:100}") long maximumSize,
+                                  @Value("${picura.analytics.cache.refresh-after:1m}") Duration refreshAfter,
+                                  @Value("${picura.analytics.cache.ttl:10m}") Duration ttl) {
+        this.employeeRepository = employeeRepository;
+        this.salaryRankIndex = salaryRankIndex;
+        this.statsCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<List<Double>, List<SalaryStatsDTO>>buildAsync((percentiles, executor) ->
+                        loadSalaryStats(percentiles).collectList().toFuture()), "salaryStatsCache");
+        this.histogramCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .<HistogramKey, List<SalaryHistogramBucketDTO>>buildAsync((key, executor) ->
+                        loadSalaryHistogram(key).collectList().toFuture()), "salaryHistogramCache");
+    }
+
+    /**
+     * Retrieves salary statistics per position.
+     *
+     * @param percentiles Percentiles to compute, as fractions between 0 and 1
+     * @return Flux of SalaryStatsDTO, one per position
+     */
+    @CircuitBreaker(name = EMPLOYEE_SERVICE)
+    public Flux<SalaryStatsDTO> getSalaryStatsByPuesto(List<Double> percentiles) {
+        log.info("Fetching salary statistics by position with percentiles {}", percentiles);
+        return Mono.fromFuture(() -> statsCache.get(List.copyOf(percentiles)))
+                .flatMapIterable(stats -> stats);
+    }
+
+    /**
+     * Retrieves an equal-width salary histogram.
+     *
+     * @param puesto Position to restrict the histogram to, or null for all employees
+     * @param buckets Number of buckets
+     * @return Flux of SalaryHistogramBucketDTO ordered by lower bound
+     */
+    @CircuitBreaker(name = EMPLOYEE_SERVICE)
+    public Flux<SalaryHistogramBucketDTO> getSalaryHistogram(String puesto, int buckets) {
+        log.info("Fetching salary histogram for position {} with {} buckets", puesto, buckets);
+        return Mono.fromFuture(() -> histogramCache.get(new HistogramKey(puesto, buckets)))
+                .flatMapIterable(histogram -> histogram);
+    }
+
+    /**
+     * Retrieves the highest salaries with their ranks.
+     *
+     * @param limit Maximum number of employees
+     * @return Flux of SalaryRankDTO, highest salary first
+     */
+    public Flux<SalaryRankDTO> getTopSalaries(int limit) {
+        log.info("Fetching top {} salaries from the salary index", limit);
+        return salaryRankIndex.top(limit)
+                .flatMapIterable(ranks -> ranks)
+                .map(this::toRankDTO);
+    }
+
+    /**
+     * Retrieves the salary rank and percentile of an employee.
+     *
+     * @param id Employee ID
+     * @return Mono of SalaryRankDTO
+     */
+    public Mono<SalaryRankDTO> getSalaryRank(String id) {
+        log.info("Fetching salary rank of employee with id: {}", id);
+        return salaryRankIndex.rankOf(id)
+                .map(this::toRankDTO)
+                .switchIfEmpty(Mono.error(new EmployeeNotFoundException("Employee not found with id: " + id)));
+    }
+
+    /**
+     * Counts the employees within a salary range.
+     *
+     * @param minSalary Lower bound, inclusive
+     * @param maxSalary Upper bound, inclusive
+     * @return Mono of SalaryRangeCountDTO
+     */
+    public Mono<SalaryRangeCountDTO> countSalariesBetween(double minSalary, double maxSalary) {
+        log.info("Counting employees with salary between {} and {}", minSalary, maxSalary);
+        return salaryRankIndex.countBetween(minSalary, maxSalary)
+                .map(range -> SalaryRangeCountDTO.builder()
+                        .minSalary(minSalary)
+                        .maxSalary(maxSalary)
+                        .count(range.count())
+                        .total(range.total())
+                        .build());
+    }
+
+    private Flux<SalaryStatsDTO> loadSalaryStats(List<Double> percentiles) {
+        log.debug("Loading salary statistics by position with percentiles {}", percentiles);
+        return employeeRepository.aggregateSalaryStatisticsByPuesto(percentiles)
+                .map(statistics -> toStatsDTO(statistics, percentiles));
+    }
+
+    private Flux<SalaryHistogramBucketDTO> loadSalaryHistogram(HistogramKey key) {
+        log.debug("Loading salary histogram {}", key);
+        return employeeRepository.aggregateSalaryHistogram(key.puesto(), key.buckets())
+                .map(this::toBucketDTO);
+    }
+
+    private SalaryStatsDTO toStatsDTO(SalaryStatistics statistics, List<Double> percentiles) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        List<Double> computed = statistics.getPercentiles();
+        for (int i = 0; computed != null && i < percentiles.size() && i < computed.size(); i++) {
+            values.put(percentileName(percentiles.get(i)), computed.get(i));
+        }
+        return SalaryStatsDTO.builder()
+                .puesto(statistics.getPuesto())
+                .headcount(statistics.getHeadcount())
+                .averageSalary(statistics.getAverage())
+                .minSalary(statistics.getMin())
+                .maxSalary(statistics.getMax())
+                .medianSalary(statistics.getMedian())
+                .percentiles(values)
+                .build();
+    }
+
+    private SalaryRankDTO toRankDTO(SalaryRankIndex.RankedSalary rank) {
+        return SalaryRankDTO.builder()
+                .id(rank.id())
+                .salario(rank.salary())
+                .rank(rank.rank())
+                .percentile(rank.percentile())
+                .total(rank.total())
+                .build();
+    }
+
+    private SalaryHistogramBucketDTO toBucketDTO(SalaryBucket bucket) {
+        return SalaryHistogramBucketDTO.builder()
+                .lowerBound(bucket.getLowerBound())
+                .upperBound(bucket.getUpperBound())
+                .count(bucket.getCount())
+                .build();
+    }
+
+    /**
+     * Names a percentile after its percentage, e.g. 0.9 becomes "p90" and 0.999 becomes "p99.9".
+     */
+    private String percentileName(double percentile) {
+        return "p" + BigDecimal.valueOf(percentile).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private record HistogramKey(String puesto, int buckets) {
+    }
+}
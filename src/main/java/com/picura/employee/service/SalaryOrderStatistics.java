@@ -0,0 +1,178 @@
+package com.picura.employee.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Indexed skip list of (salary, employee id) entries, ordered by salary and then by id.
+ * Every forward link records how many entries it skips, so counting the entries below a salary and
+ * selecting the entry at a given position both take O(log n) expected time, as do inserts and removals.
+ * Not thread-safe; {@link SalaryRankIndex} guards it with a read-write lock.
+ */
+final class SalaryOrderStatistics {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(Double.NEGATIVE_INFINITY, null, MAX_LEVEL);
+    private final SplittableRandom random = new SplittableRandom(0x5A1A710L);
+    private int level = 1;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void insert(double salary, String id) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && compare(x.next[i], salary, id) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+        Node node = new Node(salary, id, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    boolean remove(double salary, String id) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && compare(x.next[i], salary, id) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        Node node = x.next[0];
+        if (node == null || compare(node, salary, id) != 0) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Counts the entries with a salary strictly below the given one.
+     */
+    int countBelow(double salary) {
+        return count(salary, false);
+    }
+
+    /**
+     * Counts the entries with a salary below or equal to the given one.
+     */
+    int countAtMost(double salary) {
+        return count(salary, true);
+    }
+
+    /**
+     * Returns the highest-paid entries, highest first; ties are ordered by descending id.
+     */
+    List<Entry> highest(int limit) {
+        int count = Math.min(limit, size);
+        List<Entry> entries = new ArrayList<>(count);
+        Node x = select(size - count + 1);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(x.id, x.salary));
+            x = x.next[0];
+        }
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    private int count(double salary, boolean inclusive) {
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (inclusive ? x.next[i].salary <= salary : x.next[i].salary < salary)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the node at a 1-based position in ascending order.
+     */
+    private Node select(int position) {
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= position) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == position) {
+                return x;
+            }
+        }
+        return x;
+    }
+
+    private int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && random.nextInt(4) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static int compare(Node node, double salary, String id) {
+        int bySalary = Double.compare(node.salary, salary);
+        return bySalary != 0 ? bySalary : node.id.compareTo(id);
+    }
+
+    record Entry(String id, double salary) {
+    }
+
+    private static final class Node {
+
+        private final double salary;
+        private final String id;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(double salary, String id, int level) {
+            this.salary = salary;
+            this.id = id;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
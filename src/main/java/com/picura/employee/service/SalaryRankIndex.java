@@ -0,0 +1,222 @@
+package com.picura.employee.service;
+
+import com.picura.employee.entity.Employee;
+import com.picura.employee.exception.IndexNotReadyException;
+import com.picura.employee.repository.EmployeeProjection;
+import com.picura.employee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process order statistics over employee salaries.
+ * The index is loaded once the application is ready with a single id and salary projection cursor,
+ * and {@link EmployeeService} keeps it current on every create, update, promotion, delete and bulk write.
+ * Top earners, the rank and percentile of an employee, and the number of employees in a salary range are
+ * then answered in O(log n) from memory. Writes made by other instances are applied by {@link EmployeeChangeStream};
+ * where change streams are unavailable they are only picked up by the next load.
+ * Until the first load completes, queries fail with {@link IndexNotReadyException}, which is answered
+ * apart from shed load so that a starting instance does not look overloaded.
+ * Publishes the employee.salaryindex.size gauge.
+ */
+@Component
+@Slf4j
+public class SalaryRankIndex {
+
+    private static final EmployeeProjection ID_AND_SALARY = EmployeeProjection.parse("id,salario");
+
+    private final EmployeeRepository employeeRepository;
+    private final int loadBatchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SalaryOrderStatistics statistics = new SalaryOrderStatistics();
+    private final Map<String, Double> salaries = new HashMap<>();
+    // Ids written while the initial load is running; the load must not overwrite them with what it read
+    private final Set<String> changedWhileLoading = new HashSet<>();
+    private volatile boolean ready;
+
+    public SalaryRankIndex(EmployeeRepository employeeRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${picura.salary-index.load-batch-size:1000}") int loadBatchSize) {
+        this.employeeRepository = employeeRepository;
+        this.loadBatchSize = loadBatchSize;
+        Gauge.builder("employee.salaryindex.size", this, index -> index.read(index.statistics::size))
+                .description("Employees in the in-process salary index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the salaries of every employee. Runs asynchronously and is retried with backoff on failure.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Flux.defer(() -> employeeRepository.streamAll(loadBatchSize, ID_AND_SALARY))
+                .collectList()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1))
+                        .doBeforeRetry(signal -> log.warn("Could not load the salary index, retrying: {}",
+                                signal.failure().getMessage())))
+                .subscribe(this::install);
+    }
+
+    /**
+     * Records the current salary of an employee, replacing the previous one.
+     *
+     * @param employee The employee as written
+     */
+    public void put(Employee employee) {
+        write(() -> {
+            changedWhileLoading(employee.getId());
+            Double previous = salaries.put(employee.getId(), employee.getSalario());
+            if (previous != null) {
+                statistics.remove(previous, employee.getId());
+            }
+            statistics.insert(employee.getSalario(), employee.getId());
+        });
+    }
+
+    /**
+     * Removes a deleted employee.
+     *
+     * @param id The employee ID
+     */
+    public void remove(String id) {
+        write(() -> {
+            changedWhileLoading(id);
+            Double previous = salaries.remove(id);
+            if (previous != null) {
+                statistics.remove(previous, id);
+            }
+        });
+    }
+
+    /**
+     * Returns the highest-paid employees, highest first.
+     *
+     * @param limit Maximum number of employees
+     * @return A Mono of the ranked salaries
+     */
+    public Mono<List<RankedSalary>> top(int limit) {
+        return query(() -> {
+            List<SalaryOrderStatistics.Entry> entries = statistics.highest(limit);
+            return entries.stream().map(entry -> rank(entry.id(), entry.salary())).toList();
+        });
+    }
+
+    /**
+     * Returns the rank and percentile of an employee.
+     *
+     * @param id The employee ID
+     * @return A Mono of the ranked salary, empty if the employee is not indexed
+     */
+    public Mono<RankedSalary> rankOf(String id) {
+        return query(() -> {
+            Double salary = salaries.get(id);
+            return salary == null ? null : rank(id, salary);
+        });
+    }
+
+    /**
+     * Counts the employees whose salary is within a range.
+     *
+     * @param min Lower bound, inclusive
+     * @param max Upper bound, inclusive
+     * @return A Mono of the count
+     */
+    public Mono<RangeCount> countBetween(double min, double max) {
+        return query(() -> new RangeCount(
+                max < min ? 0 : statistics.countAtMost(max) - statistics.countBelow(min), statistics.size()));
+    }
+
+    /**
+     * Ranks by descending salary, with ties sharing the best rank. The percentile counts the employees
+     * paid less plus half of those paid the same, so equal salaries get equal percentiles.
+     */
+    private RankedSalary rank(String id, double salary) {
+        int total = statistics.size();
+        int below = statistics.countBelow(salary);
+        int atMost = statistics.countAtMost(salary);
+        double percentile = 100.0 * (below + (atMost - below) / 2.0) / total;
+        return new RankedSalary(id, salary, total - atMost + 1, percentile, total);
+    }
+
+    private void install(List<Employee> employees) {
+        write(() -> {
+            for (Employee employee : employees) {
+                if (!changedWhileLoading.contains(employee.getId())) {
+                    salaries.put(employee.getId(), employee.getSalario());
+                    statistics.insert(employee.getSalario(), employee.getId());
+                }
+            }
+            changedWhileLoading.clear();
+            ready = true;
+        });
+        log.info("Salary index loaded with {} employees", employees.size());
+    }
+
+    private void changedWhileLoading(String id) {
+        if (!ready) {
+            changedWhileLoading.add(id);
+        }
+    }
+
+    private <T> Mono<T> query(Supplier<T> query) {
+        return Mono.defer(() -> ready
+                ? Mono.justOrEmpty(read(query))
+                : Mono.error(new IndexNotReadyException("Salary index is still loading")));
+    }
+
+    private <T> T read(Supplier<T> read) {
+        lock.readLock().lock();
+        try {
+            return read.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable write) {
+        lock.writeLock().lock();
+        try {
+            write.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Salary of an employee with its position among all indexed employees.
+     *
+     * @param id Employee ID
+     * @param salary Salary
+     * @param rank 1 for the highest salary; employees with equal salaries share a rank
+     * @param percentile Percentage of employees paid less, counting equal salaries as half
+     * @param total Number of indexed employees
+     */
+    public record RankedSalary(String id, double salary, int rank, double percentile, int total) {
+    }
+
+    /**
+     * Number of employees in a salary range.
+     *
+     * @param count Employees within the range
+     * @param total Number of indexed employees
+     */
+    public record RangeCount(int count, int total) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.picura.employee.config;
+
+import com.picura.employee.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	@Test
+	void queuedCallsRunWhenAPermitIsReleased() {
+		AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofSeconds(5));
+		Sinks.One<String> first = Sinks.one();
+		Disposable running = limiter.mono(first.asMono()).subscribe();
+
+		StepVerifier.create(limiter.mono(Mono.just("second")))
+				.then(() -> assertThat(limiter.getQueued()).isEqualTo(1))
+				.then(() -> first.tryEmitValue("first"))
+				.expectNext("second")
+				.verifyComplete();
+		assertThat(limiter.getInFlight()).isZero();
+		running.dispose();
+	}
+
+	@Test
+	void rejectsCallsWhenTheQueueIsFullOrTheDeadlinePasses() {
+		AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofMillis(100));
+		Disposable running = limiter.mono(Mono.never()).subscribe();
+
+		StepVerifier.create(limiter.mono(Mono.just("queued")))
+				.then(() -> StepVerifier.create(limiter.mono(Mono.just("rejected")))
+						.verifyError(ServiceOverloadedException.class))
+				.verifyError(ServiceOverloadedException.class);
+		assertThat(limiter.getQueued()).isZero();
+
+		running.dispose();
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+	@Test
+	void cancellingWhileAPermitIsHandedOverReleasesIt() {
+		AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofSeconds(5));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int i = 0; i < 10_000; i++) {
+				Sinks.Empty<Void> running = Sinks.empty();
+				limiter.mono(running.asMono()).subscribe();
+				Disposable queued = limiter.mono(Mono.never()).subscribe();
+				CountDownLatch start = new CountDownLatch(1);
+
+				CompletableFuture.allOf(
+						CompletableFuture.runAsync(() -> {
+							awaitQuietly(start);
+							running.tryEmitEmpty();
+						}, executor),
+						CompletableFuture.runAsync(() -> {
+							awaitQuietly(start);
+							queued.dispose();
+						}, executor),
+						CompletableFuture.runAsync(start::countDown)).join();
+
+				assertThat(limiter.getInFlight()).as("permits in flight after round %d", i).isZero();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void timeoutsShrinkTheLimit() {
+		AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO);
+
+		for (int i = 0; i < 5; i++) {
+			StepVerifier.create(limiter.mono(Mono.error(new TimeoutException()))).verifyError(TimeoutException.class);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(10 * Math.pow(0.9, 5), within(1e-9));
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Test
+	void aStableMixOfFastAndSlowCallsKeepsTheLimit() {
+		AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO);
+
+		for (int i = 0; i < 300; i++) {
+			limiter.onSample(i % 10 == 9 ? 10_000_000 : 1_000_000, false);
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(10);
+	}
+
+	@Test
+	void aSustainedLatencyRiseShrinksTheLimit() {
+		AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO);
+		for (int i = 0; i < 100; i++) {
+			limiter.onSample(1_000_000, false);
+		}
+
+		for (int i = 0; i < 10; i++) {
+			limiter.onSample(5_000_000, false);
+		}
+
+		assertThat(limiter.getLimit()).isLessThan(10);
+	}
+
+	@Test
+	void streamsAreSampledAtTheirFirstElement() {
+		AdaptiveConcurrencyLimiter limiter = limiter(10, 0, Duration.ZERO, 1000);
+		for (int i = 0; i < 20; i++) {
+			StepVerifier.create(limiter.mono(Mono.just(i))).expectNext(i).verifyComplete();
+		}
+
+		for (int i = 0; i < 5; i++) {
+			StepVerifier.create(limiter.flux(Flux.concat(Mono.just(i), Mono.delay(Duration.ofMillis(50)).then(Mono.empty()))))
+					.expectNext(i)
+					.verifyComplete();
+		}
+
+		assertThat(limiter.getLimit()).isEqualTo(10);
+	}
+
+	private static AdaptiveConcurrencyLimiter limiter(int limit, int maxQueue, Duration queueTimeout) {
+		return limiter(limit, maxQueue, queueTimeout, 2.0);
+	}
+
+	private static AdaptiveConcurrencyLimiter limiter(int limit, int maxQueue, Duration queueTimeout, double latencyTolerance) {
+		return new AdaptiveConcurrencyLimiter("test", AdaptiveConcurrencyLimiter.Settings.builder()
+				.initialLimit(limit)
+				.minLimit(1)
+				.maxLimit(100)
+				.maxQueue(maxQueue)
+				.queueTimeout(queueTimeout)
+				.backoffRatio(0.9)
+				.latencyTolerance(latencyTolerance)
+				.baselineSamples(100)
+				.build(), new SimpleMeterRegistry());
+	}
+}
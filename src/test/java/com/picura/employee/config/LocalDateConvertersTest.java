@@ -0,0 +1,32 @@
+package com.picura.employee.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalDateConvertersTest {
+
+	@Test
+	void storesDatesAtMidnightInTheConfiguredZone() {
+		LocalDate hired = LocalDate.of(2024, 3, 1);
+
+		assertThat(new LocalDateConverters.ToDate(ZoneId.of("UTC")).convert(hired))
+				.isEqualTo(Date.from(Instant.parse("2024-03-01T00:00:00Z")));
+		assertThat(new LocalDateConverters.ToDate(ZoneId.of("Europe/Madrid")).convert(hired))
+				.isEqualTo(Date.from(Instant.parse("2024-02-29T23:00:00Z")));
+	}
+
+	@Test
+	void readsStoredDatesBackInTheConfiguredZone() {
+		ZoneId zone = ZoneId.of("Europe/Madrid");
+		LocalDate hired = LocalDate.of(2024, 3, 1);
+
+		assertThat(new LocalDateConverters.FromDate(zone).convert(new LocalDateConverters.ToDate(zone).convert(hired)))
+				.isEqualTo(hired);
+	}
+}
@@ -0,0 +1,52 @@
+package com.picura.employee.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicroBatcherTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+	@Test
+	void lookupsWithinTheWindowShareOneLoaderCall() {
+		MicroBatcher<Integer, String> batcher = batcher(100, Duration.ofMillis(50),
+				keys -> Flux.fromIterable(keys).filter(key -> key != 3).map(String::valueOf));
+
+		StepVerifier.create(Flux.merge(batcher.load(1), batcher.load(2), batcher.load(1), batcher.load(3)).collectList())
+				.assertNext(values -> assertThat(values).containsExactlyInAnyOrder("1", "2", "1"))
+				.verifyComplete();
+		assertThat(batches).containsExactly(List.of(1, 2, 3));
+		assertThat(meterRegistry.get("employee.batcher.calls").counter().count()).isEqualTo(4);
+	}
+
+	@Test
+	void fullBatchesAreDispatchedBeforeTheWindowAndErrorsReachEveryLookup() {
+		MicroBatcher<Integer, String> batcher = batcher(2, Duration.ofSeconds(30),
+				keys -> Flux.error(new IllegalStateException("down")));
+
+		StepVerifier.create(Mono.zip(batcher.load(1), batcher.load(2)))
+				.expectErrorMessage("down")
+				.verify(Duration.ofSeconds(5));
+		assertThat(batches).containsExactly(List.of(1, 2));
+	}
+
+	private MicroBatcher<Integer, String> batcher(int maxBatchSize, Duration window,
+			Function<List<Integer>, Flux<String>> loader) {
+		MicroBatcher.Settings settings = new MicroBatcher.Settings(maxBatchSize, window);
+		return new MicroBatcher<>("test", settings, keys -> {
+			batches.add(keys);
+			return loader.apply(keys);
+		}, Integer::valueOf, meterRegistry);
+	}
+}
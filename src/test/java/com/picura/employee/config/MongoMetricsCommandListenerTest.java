@@ -0,0 +1,31 @@
+package com.picura.employee.config;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoMetricsCommandListenerTest {
+
+	@Test
+	void shapeMasksLiteralsButKeepsOperatorsAndSort() {
+		BsonDocument find = BsonDocument.parse("{ find: 'employees', filter: { puesto: 'Dev', salario: { $gte: 1000, $lte: 2000 } },"
+				+ " sort: { salario: -1 }, limit: 5, $db: 'employee_db', lsid: { id: 1 } }");
+
+		assertThat(MongoMetricsCommandListener.shapeOf(find)).isEqualTo(
+				"{\"find\": \"employees\", \"filter\": {\"puesto\": \"?\", \"salario\": {\"$gte\": \"?\", \"$lte\": \"?\"}},"
+						+ " \"sort\": {\"salario\": -1}, \"limit\": \"?\"}");
+		assertThat(MongoMetricsCommandListener.collectionOf(find)).isEqualTo("employees");
+	}
+
+	@Test
+	void shapeCollapsesArraysOfTheSameShape() {
+		BsonDocument update = BsonDocument.parse("{ update: 'employees', updates: [ { q: { _id: 'a' }, u: { $inc: { salario: 10 } } },"
+				+ " { q: { _id: 'b' }, u: { $inc: { salario: 20 } } } ] }");
+
+		assertThat(MongoMetricsCommandListener.shapeOf(update)).isEqualTo(
+				"{\"update\": \"employees\", \"updates\": [{\"q\": {\"_id\": \"?\"}, \"u\": {\"$inc\": {\"salario\": \"?\"}}}]}");
+		assertThat(MongoMetricsCommandListener.collectionOf(BsonDocument.parse("{ getMore: 42, collection: 'employees' }")))
+				.isEqualTo("employees");
+	}
+}
@@ -0,0 +1,64 @@
+package com.picura.employee.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+	@Test
+	void concurrentIdenticalCallsShareOneSubscription() {
+		Sinks.One<String> result = Sinks.one();
+		AtomicInteger subscriptions = new AtomicInteger();
+		Mono<String> call = singleFlight.mono("findById", List.of("1"),
+				() -> result.asMono().doOnSubscribe(subscription -> subscriptions.incrementAndGet()));
+
+		StepVerifier.create(Mono.zip(call, call))
+				.then(() -> result.tryEmitValue("employee"))
+				.assertNext(pair -> assertThat(pair.getT1()).isEqualTo("employee").isEqualTo(pair.getT2()))
+				.verifyComplete();
+		assertThat(subscriptions).hasValue(1);
+		assertThat(count("executed")).isEqualTo(1);
+		assertThat(count("coalesced")).isEqualTo(1);
+
+		// Once the shared call is over, the next call queries again
+		StepVerifier.create(singleFlight.mono("findById", List.of("1"), () -> Mono.just("fresh")))
+				.expectNext("fresh")
+				.verifyComplete();
+	}
+
+	@Test
+	void errorsReachEveryCallerAndCancellingOneKeepsTheOthers() {
+		Sinks.One<String> result = Sinks.one();
+		AtomicInteger cancellations = new AtomicInteger();
+		Mono<String> call = singleFlight.mono("findById", List.of("1"),
+				() -> result.asMono().doOnCancel(cancellations::incrementAndGet));
+
+		Disposable cancelled = call.subscribe();
+		StepVerifier.create(call)
+				.then(cancelled::dispose)
+				.then(() -> assertThat(cancellations).hasValue(0))
+				.then(() -> result.tryEmitError(new IllegalStateException("down")))
+				.verifyErrorMessage("down");
+
+		Disposable last = singleFlight.mono("findById", List.of("2"),
+				() -> Mono.<String>never().doOnCancel(cancellations::incrementAndGet)).subscribe();
+		last.dispose();
+		assertThat(cancellations).hasValue(1);
+	}
+
+	private double count(String result) {
+		return meterRegistry.get("employee.singleflight.calls").tag("result", result).counter().count();
+	}
+}
@@ -0,0 +1,65 @@
+package com.picura.employee.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.picura.employee.dto.EmployeeDTO;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingCborEncoderTest {
+
+	private final ObjectMapper mapper = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+	private final StreamingCborEncoder encoder = new StreamingCborEncoder(mapper);
+
+	@Test
+	void fluxIsEncodedAsAnIndefiniteLengthArray() throws Exception {
+		EmployeeDTO first = employee("1", "Juan Pérez");
+		EmployeeDTO second = employee("2", "María García");
+
+		byte[] body = encode(Flux.just(first, second));
+
+		assertThat(body[0]).isEqualTo((byte) 0x9F);
+		assertThat(body[body.length - 1]).isEqualTo((byte) 0xFF);
+		List<EmployeeDTO> decoded = mapper.readerForListOf(EmployeeDTO.class).readValue(body);
+		assertThat(decoded).containsExactly(first, second);
+	}
+
+	@Test
+	void emptyFluxIsAnEmptyArrayAndMonoIsASingleValue() throws Exception {
+		assertThat(mapper.readerForListOf(EmployeeDTO.class).<List<EmployeeDTO>>readValue(encode(Flux.empty()))).isEmpty();
+
+		EmployeeDTO employee = employee("1", "Ana López");
+		assertThat(mapper.readValue(encode(Mono.just(employee)), EmployeeDTO.class)).isEqualTo(employee);
+	}
+
+	private byte[] encode(Publisher<EmployeeDTO> input) {
+		DataBuffer joined = DataBufferUtils.join(encoder.encode(input, DefaultDataBufferFactory.sharedInstance,
+				ResolvableType.forClass(EmployeeDTO.class), MediaType.APPLICATION_CBOR, null)).block();
+		byte[] bytes = new byte[joined.readableByteCount()];
+		joined.read(bytes);
+		return bytes;
+	}
+
+	private EmployeeDTO employee(String id, String nombre) {
+		return EmployeeDTO.builder()
+				.id(id)
+				.nombre(nombre)
+				.puesto("Analista")
+				.salario(42000.0)
+				.fechaContratacion(LocalDate.of(2021, 3, 4))
+				.build();
+	}
+}
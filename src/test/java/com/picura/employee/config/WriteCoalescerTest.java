@@ -0,0 +1,83 @@
+package com.picura.employee.config;
+
+import com.picura.employee.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteCoalescerTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final List<Map<Integer, Integer>> batches = new CopyOnWriteArrayList<>();
+
+	@Test
+	void mutationsOfTheSameKeyAreMergedAndWrittenTogether() {
+		WriteCoalescer<Integer, Integer, String> queue = queue(100, Duration.ofMillis(50), 100,
+				mutations -> Flux.fromIterable(mutations.entrySet())
+						.filter(entry -> entry.getKey() != 3)
+						.map(entry -> entry.getKey() + ":" + entry.getValue()));
+
+		StepVerifier.create(Flux.merge(queue.submit(1, 1), queue.submit(2, 5), queue.submit(1, 2), queue.submit(3, 1))
+						.collectList())
+				.assertNext(values -> assertThat(values).containsExactlyInAnyOrder("1:3", "2:5", "1:3"))
+				.verifyComplete();
+		assertThat(batches).containsExactly(Map.of(1, 3, 2, 5, 3, 1));
+		assertThat(meterRegistry.get("employee.writebehind.merged").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("employee.writebehind.flush").tag("outcome", "success").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void mutationsSubmittedDuringAFlushWaitForItAndAFullQueueRejectsNewKeys() {
+		Sinks.Empty<Void> firstFlush = Sinks.empty();
+		WriteCoalescer<Integer, Integer, String> queue = queue(1, Duration.ofSeconds(30), 2, mutations -> {
+			Flux<String> written = Flux.fromIterable(mutations.entrySet()).map(entry -> entry.getKey() + ":" + entry.getValue());
+			return batches.size() == 1 ? firstFlush.asMono().thenMany(written) : written;
+		});
+
+		CompletableFuture<String> first = queue.submit(1, 1).toFuture();
+		CompletableFuture<String> second = queue.submit(1, 2).toFuture();
+		CompletableFuture<String> third = queue.submit(2, 1).toFuture();
+		StepVerifier.create(queue.submit(3, 1)).expectError(ServiceOverloadedException.class).verify();
+		assertThat(meterRegistry.get("employee.writebehind.queue").gauge().value()).isEqualTo(2);
+
+		firstFlush.tryEmitEmpty();
+
+		assertThat(first.join()).isEqualTo("1:1");
+		assertThat(second.join()).isEqualTo("1:2");
+		assertThat(third.join()).isEqualTo("2:1");
+		assertThat(batches).containsExactly(Map.of(1, 1), Map.of(1, 2, 2, 1));
+	}
+
+	@Test
+	void closingWritesTheQueuedMutationsAndRejectsNewOnes() {
+		WriteCoalescer<Integer, Integer, String> queue = queue(100, Duration.ofSeconds(30), 100,
+				mutations -> Flux.fromIterable(mutations.keySet()).map(String::valueOf));
+		CompletableFuture<String> queued = queue.submit(1, 1).toFuture();
+
+		queue.close();
+
+		assertThat(queued).isCompletedWithValue("1");
+		StepVerifier.create(queue.submit(2, 1)).expectError(ServiceOverloadedException.class).verify();
+		assertThat(batches).containsExactly(Map.of(1, 1));
+	}
+
+	private WriteCoalescer<Integer, Integer, String> queue(int maxBatchSize, Duration maxDelay, int capacity,
+			Function<Map<Integer, Integer>, Flux<String>> writer) {
+		WriteCoalescer.Settings settings = new WriteCoalescer.Settings(maxBatchSize, maxDelay, capacity, Duration.ofSeconds(5));
+		return new WriteCoalescer<>("test", settings, Integer::sum, mutations -> {
+			batches.add(mutations);
+			return writer.apply(mutations);
+		}, value -> Integer.valueOf(value.split(":")[0]), meterRegistry);
+	}
+}
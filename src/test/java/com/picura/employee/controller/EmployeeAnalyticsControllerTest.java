@@ -0,0 +1,41 @@
+package com.picura.employee.controller;
+
+import com.picura.employee.exception.IndexNotReadyException;
+import com.picura.employee.service.SalaryRankIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "picura.inmemory.snapshot-file=")
+@AutoConfigureWebTestClient
+@ActiveProfiles("inmemory")
+class EmployeeAnalyticsControllerTest {
+
+	@Autowired
+	private WebTestClient client;
+
+	@MockBean
+	private SalaryRankIndex salaryRankIndex;
+
+	@Test
+	void asksClientsToComeBackWhileTheSalaryIndexLoads() {
+		when(salaryRankIndex.countBetween(anyDouble(), anyDouble()))
+				.thenReturn(Mono.error(new IndexNotReadyException("Salary index is still loading")));
+
+		client.get().uri("/api/v1/employees/analytics/salary-range-count?min=1000&max=2000")
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+				.expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "5")
+				.expectBody(String.class).isEqualTo("Salary index is still loading");
+	}
+}
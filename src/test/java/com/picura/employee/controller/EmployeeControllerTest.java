@@ -0,0 +1,154 @@
+package com.picura.employee.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "picura.inmemory.snapshot-file=")
+@AutoConfigureWebTestClient
+@ActiveProfiles("inmemory")
+class EmployeeControllerTest {
+
+	private static final String EMPLOYEES = "/api/v1/employees";
+	private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@Autowired
+	private WebTestClient client;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void createsEmployeesFromJsonAndListsThemInCborAndSmile() throws Exception {
+		EmployeeDTO created = create("Lucía Fernández");
+
+		assertThat(created.getId()).isNotNull();
+		assertThat(created.getFechaContratacion()).isEqualTo(LocalDate.of(2023, 1, 15));
+		assertThat(listed(MediaType.APPLICATION_CBOR, CBORMapper.builder().addModule(new JavaTimeModule()).build()))
+				.contains(created);
+		assertThat(listed(APPLICATION_SMILE, SmileMapper.builder().addModule(new JavaTimeModule()).build()))
+				.contains(created);
+	}
+
+	@Test
+	void answersAnUnchangedEmployeeWithNotModified() {
+		EmployeeDTO created = create("Marta Gómez");
+
+		String etag = client.get().uri(EMPLOYEES + "/{id}", created.getId())
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + created.getVersion() + "\"")
+				.expectBody(EmployeeDTO.class).isEqualTo(created)
+				.returnResult()
+				.getResponseHeaders().getETag();
+
+		client.get().uri(EMPLOYEES + "/{id}", created.getId())
+				.header(HttpHeaders.IF_NONE_MATCH, etag)
+				.exchange()
+				.expectStatus().isNotModified()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+				.expectBody().isEmpty();
+	}
+
+	@Test
+	void answersAChangedEmployeeWithTheBodyOfItsNewETag() {
+		EmployeeDTO created = create("Andrés Castro");
+		String etag = "\"" + created.getVersion() + "\"";
+		client.get().uri(EMPLOYEES + "/{id}", created.getId()).exchange().expectStatus().isOk();
+		// Written past the service, so the cached employee is now older than the stored one
+		employeeRepository.findById(created.getId())
+				.flatMap(employee -> {
+					employee.setPuesto("Gerente");
+					return employeeRepository.save(employee);
+				})
+				.block();
+
+		EmployeeDTO changed = client.get().uri(EMPLOYEES + "/{id}", created.getId())
+				.header(HttpHeaders.IF_NONE_MATCH, etag)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + (created.getVersion() + 1) + "\"")
+				.expectBody(EmployeeDTO.class)
+				.returnResult()
+				.getResponseBody();
+
+		assertThat(changed.getPuesto()).isEqualTo("Gerente");
+		assertThat(changed.getVersion()).isEqualTo(created.getVersion() + 1);
+	}
+
+	@Test
+	void rejectsAnUpdateWithAStaleIfMatch() {
+		EmployeeDTO created = create("Sofía Navarro");
+		String stale = "\"" + (created.getVersion() + 1) + "\"";
+
+		client.put().uri(EMPLOYEES + "/{id}", created.getId())
+				.header(HttpHeaders.IF_MATCH, stale)
+				.bodyValue(promoted(created))
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+		client.put().uri(EMPLOYEES + "/{id}", created.getId())
+				.header(HttpHeaders.IF_MATCH, "\"" + created.getVersion() + "\"")
+				.bodyValue(promoted(created))
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, stale);
+	}
+
+	@Test
+	void updatesWithoutIfMatchUnconditionally() {
+		EmployeeDTO created = create("Diego Herrera");
+
+		client.put().uri(EMPLOYEES + "/{id}", created.getId())
+				.bodyValue(promoted(created))
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + (created.getVersion() + 1) + "\"");
+	}
+
+	private EmployeeDTO create(String nombre) {
+		return client.post().uri(EMPLOYEES)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"nombre\":\"" + nombre + "\",\"puesto\":\"Analista\",\"salario\":42000.0,"
+						+ "\"fechaContratacion\":\"2023-01-15\"}")
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.CREATED)
+				.expectBody(EmployeeDTO.class)
+				.returnResult()
+				.getResponseBody();
+	}
+
+	private static EmployeeDTO promoted(EmployeeDTO employee) {
+		return new EmployeeDTO(employee.getId(), employee.getNombre(), "Gerente", employee.getSalario(),
+				employee.getFechaContratacion(), employee.getVersion());
+	}
+
+	private List<EmployeeDTO> listed(MediaType mediaType, ObjectMapper mapper) throws Exception {
+		byte[] body = client.get().uri(EMPLOYEES)
+				.accept(mediaType)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(mediaType)
+				.expectBody(byte[].class)
+				.returnResult()
+				.getResponseBody();
+		return mapper.readerForListOf(EmployeeDTO.class).readValue(body);
+	}
+}
@@ -0,0 +1,38 @@
+package com.picura.employee.controller;
+
+import com.picura.employee.exception.VersionConflictException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeETagsTest {
+
+	@Test
+	void tagsUnversionedEmployeesAsVersionZero() {
+		assertThat(EmployeeETags.of(3L)).isEqualTo("\"3\"");
+		assertThat(EmployeeETags.of(null)).isEqualTo("\"0\"");
+	}
+
+	@Test
+	void comparesIfNoneMatchWeakly() {
+		assertThat(EmployeeETags.noneMatchFails("\"3\"", "\"3\"")).isTrue();
+		assertThat(EmployeeETags.noneMatchFails("\"1\", W/\"3\"", "\"3\"")).isTrue();
+		assertThat(EmployeeETags.noneMatchFails("*", "\"3\"")).isTrue();
+		assertThat(EmployeeETags.noneMatchFails("\"2\", W/\"4\"", "\"3\"")).isFalse();
+	}
+
+	@Test
+	void readsTheVersionExpectedByIfMatch() {
+		assertThat(EmployeeETags.expectedVersion(null)).isNull();
+		assertThat(EmployeeETags.expectedVersion("*")).isNull();
+		assertThat(EmployeeETags.expectedVersion(" \"7\" ")).isEqualTo(7L);
+	}
+
+	@Test
+	void rejectsIfMatchTagsThatCanNeverMatch() {
+		assertThatThrownBy(() -> EmployeeETags.expectedVersion("W/\"7\"")).isInstanceOf(VersionConflictException.class);
+		assertThatThrownBy(() -> EmployeeETags.expectedVersion("\"7\", \"8\"")).isInstanceOf(VersionConflictException.class);
+		assertThatThrownBy(() -> EmployeeETags.expectedVersion("\"seven\"")).isInstanceOf(VersionConflictException.class);
+	}
+}
@@ -0,0 +1,52 @@
+package com.picura.employee.repository;
+
+import com.picura.employee.entity.Employee;
+import com.picura.employee.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeCursorTest {
+
+	@Test
+	void encodeAndDecodeRoundTripForEverySortField() {
+		Employee employee = new Employee();
+		employee.setId("a.b|c");
+		employee.setNombre("José Pérez");
+		employee.setSalario(50000.5);
+		employee.setFechaContratacion(LocalDate.of(2023, 1, 15));
+
+		for (EmployeeSortField sortField : EmployeeSortField.values()) {
+			EmployeeCursor cursor = EmployeeCursor.after(employee, sortField, Sort.Direction.DESC);
+
+			assertThat(EmployeeCursor.decode(cursor.encode())).isEqualTo(cursor);
+		}
+	}
+
+	@Test
+	void encodeAndDecodeKeepNullValuesApartFromEmptyOnes() {
+		Employee employee = new Employee();
+		employee.setId("1");
+
+		for (EmployeeSortField sortField : EmployeeSortField.values()) {
+			EmployeeCursor cursor = EmployeeCursor.after(employee, sortField, Sort.Direction.ASC);
+
+			assertThat(EmployeeCursor.decode(cursor.encode())).isEqualTo(cursor);
+		}
+		employee.setNombre("");
+		assertThat(EmployeeCursor.decode(EmployeeCursor.after(employee, EmployeeSortField.NOMBRE, Sort.Direction.ASC).encode())
+				.getLastValue()).isEqualTo("");
+	}
+
+	@Test
+	void decodeRejectsMalformedTokens() {
+		assertThatThrownBy(() -> EmployeeCursor.decode("not-a-cursor"))
+				.isInstanceOf(InvalidCursorException.class);
+		assertThatThrownBy(() -> EmployeeCursor.decode("QUdF.QVND.MQ.MQ"))
+				.isInstanceOf(InvalidCursorException.class);
+	}
+}
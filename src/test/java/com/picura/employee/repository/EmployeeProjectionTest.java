@@ -0,0 +1,31 @@
+package com.picura.employee.repository;
+
+import com.picura.employee.exception.InvalidFieldsException;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeProjectionTest {
+
+	@Test
+	void parsedFieldsBecomeAMongoProjection() {
+		EmployeeProjection projection = EmployeeProjection.parse("nombre, salario");
+
+		assertThat(projection.applyTo(new Query()).getFieldsObject())
+				.isEqualTo(new Document("nombre", 1).append("salario", 1).append("id", 0));
+		assertThat(projection.with(EmployeeField.NOMBRE)).isSameAs(projection);
+		assertThat(EmployeeProjection.parse("id,nombre,puesto,salario,fechaContratacion")).isSameAs(EmployeeProjection.ALL);
+		assertThat(EmployeeProjection.ALL.applyTo(new Query()).getFieldsObject()).isEmpty();
+	}
+
+	@Test
+	void parseRejectsUnknownFields() {
+		assertThatThrownBy(() -> EmployeeProjection.parse("nombre,searchTokens"))
+				.isInstanceOf(InvalidFieldsException.class);
+		assertThatThrownBy(() -> EmployeeProjection.parse(","))
+				.isInstanceOf(InvalidFieldsException.class);
+	}
+}
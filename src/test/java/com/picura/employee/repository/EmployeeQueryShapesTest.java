@@ -0,0 +1,29 @@
+package com.picura.employee.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeQueryShapesTest {
+
+	@Test
+	void everyRepositoryQueryMethodHasAQueryShape() {
+		Set<String> cataloged = EmployeeQueryShapes.all().stream()
+				.map(EmployeeQueryShapes.QueryShape::method)
+				.collect(Collectors.toSet());
+
+		Set<String> declared = Stream.of(EmployeeRepository.class, EmployeeRepositoryCustom.class)
+				.flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+				.filter(method -> !method.isSynthetic() && !method.isDefault())
+				.map(Method::getName)
+				.collect(Collectors.toSet());
+
+		assertThat(cataloged).containsAll(declared);
+	}
+}
@@ -0,0 +1,39 @@
+package com.picura.employee.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSearchKeysTest {
+
+	@Test
+	void normalizeFoldsCaseAccentsAndPunctuation() {
+		assertThat(EmployeeSearchKeys.normalize("  José  PÉREZ-Núñez ")).isEqualTo("jose perez nunez");
+		assertThat(EmployeeSearchKeys.normalize(".*[(")).isEmpty();
+		assertThat(EmployeeSearchKeys.normalize(null)).isEmpty();
+	}
+
+	@Test
+	void queryTokensAreContainedInIndexTokensOfMatchingNames() {
+		String name = EmployeeSearchKeys.normalize("José Pérez");
+
+		for (String query : new String[] {"j", "jo", "jos", "pérez", "ere", "REZ", "jose per"}) {
+			assertThat(EmployeeSearchKeys.indexTokens(name))
+					.as(query)
+					.containsAll(EmployeeSearchKeys.queryTokens(EmployeeSearchKeys.normalize(query)));
+		}
+	}
+
+	@Test
+	void scoreRanksExactNamesThenWordsThenPrefixesThenInfixes() {
+		int exactName = EmployeeSearchKeys.score("jose perez", "jose perez");
+		int exactWord = EmployeeSearchKeys.score("maria jose", "jose");
+		int prefix = EmployeeSearchKeys.score("maria josefina", "jose");
+		int infix = EmployeeSearchKeys.score("maria dejose", "jose");
+
+		assertThat(exactName).isGreaterThan(exactWord);
+		assertThat(exactWord).isGreaterThan(prefix);
+		assertThat(prefix).isGreaterThan(infix);
+		assertThat(EmployeeSearchKeys.score("jose perez", "jose lopez")).isNegative();
+	}
+}
@@ -0,0 +1,72 @@
+package com.picura.employee.repository;
+
+import com.picura.employee.entity.Employee;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeUpdateTest {
+
+	@Test
+	void laterValuesWinOnOverlappingFields() {
+		EmployeeUpdate merged = EmployeeUpdate.builder().puesto("Analista").salario(40000.0).build()
+				.andThen(EmployeeUpdate.builder().puesto("Gerente").salario(55000.0).build());
+
+		assertThat(merged).isEqualTo(EmployeeUpdate.builder().puesto("Gerente").salario(55000.0).build());
+	}
+
+	@Test
+	void disjointFieldsAreAllKept() {
+		LocalDate hired = LocalDate.of(2022, 3, 1);
+
+		EmployeeUpdate merged = EmployeeUpdate.builder().nombre("Ana Ruiz").build()
+				.andThen(EmployeeUpdate.builder().fechaContratacion(hired).salarioIncrement(500.0).build());
+
+		assertThat(merged).isEqualTo(EmployeeUpdate.builder()
+				.nombre("Ana Ruiz").fechaContratacion(hired).salarioIncrement(500.0).build());
+	}
+
+	@Test
+	void salaryIncrementsAreFoldedIntoTheSalaryBeforeThem() {
+		EmployeeUpdate set = EmployeeUpdate.builder().salario(40000.0).build();
+		EmployeeUpdate increment = EmployeeUpdate.builder().salarioIncrement(1000.0).build();
+
+		assertThat(set.andThen(increment)).isEqualTo(EmployeeUpdate.builder().salario(41000.0).build());
+		assertThat(increment.andThen(increment)).isEqualTo(EmployeeUpdate.builder().salarioIncrement(2000.0).build());
+		assertThat(increment.andThen(set)).isEqualTo(set);
+	}
+
+	@Test
+	void aMergedUpdateChangesTheFieldsLikeBothInOrderButTheVersionOnce() {
+		EmployeeUpdate first = EmployeeUpdate.builder().puesto("Gerente").salarioIncrement(1000.0).build();
+		EmployeeUpdate second = EmployeeUpdate.builder().nombre("Ana Ruiz").salarioIncrement(500.0).build();
+		Employee inOrder = employee();
+		Employee merged = employee();
+
+		first.applyTo(inOrder);
+		second.applyTo(inOrder);
+		first.andThen(second).applyTo(merged);
+
+		assertThat(merged).usingRecursiveComparison().ignoringFields("version").isEqualTo(inOrder);
+		assertThat(inOrder.getVersion()).isEqualTo(5L);
+		assertThat(merged.getVersion()).isEqualTo(4L);
+		assertThat(first.andThen(second).toUpdate().getUpdateObject().get("$inc", Document.class))
+				.containsEntry("salario", 1500.0)
+				.containsEntry("version", 1);
+	}
+
+	private static Employee employee() {
+		Employee employee = new Employee();
+		employee.setId("1");
+		employee.setNombre("Ana Pérez");
+		employee.setPuesto("Analista");
+		employee.setSalario(40000.0);
+		employee.setFechaContratacion(LocalDate.of(2020, 1, 1));
+		employee.setVersion(3L);
+		EmployeeSearchIndexer.apply(employee);
+		return employee;
+	}
+}
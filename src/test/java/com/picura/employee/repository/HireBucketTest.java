@@ -0,0 +1,41 @@
+package com.picura.employee.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HireBucketTest {
+
+	@Test
+	void fillsEmptyLeadingMiddleAndTrailingPeriodsWithZero() {
+		Map<LocalDate, Long> counts = Map.of(LocalDate.of(2024, 2, 1), 3L, LocalDate.of(2024, 4, 1), 1L);
+
+		assertThat(HireBucket.dense(HirePeriod.MONTH, LocalDate.of(2024, 1, 10), LocalDate.of(2024, 5, 20), counts))
+				.containsExactly(
+						new HireBucket(LocalDate.of(2024, 1, 1), 0),
+						new HireBucket(LocalDate.of(2024, 2, 1), 3),
+						new HireBucket(LocalDate.of(2024, 3, 1), 0),
+						new HireBucket(LocalDate.of(2024, 4, 1), 1),
+						new HireBucket(LocalDate.of(2024, 5, 1), 0));
+	}
+
+	@Test
+	void startsWeeksOnTheMondayBeforeTheRange() {
+		// 2024-03-06 is a Wednesday and 2024-03-18 a Monday
+		assertThat(HireBucket.dense(HirePeriod.WEEK, LocalDate.of(2024, 3, 6), LocalDate.of(2024, 3, 18),
+				Map.of(LocalDate.of(2024, 3, 11), 2L)))
+				.containsExactly(
+						new HireBucket(LocalDate.of(2024, 3, 4), 0),
+						new HireBucket(LocalDate.of(2024, 3, 11), 2),
+						new HireBucket(LocalDate.of(2024, 3, 18), 0));
+	}
+
+	@Test
+	void laysOutNoPeriodsForAnInvertedRange() {
+		assertThat(HireBucket.dense(HirePeriod.DAY, LocalDate.of(2024, 3, 6), LocalDate.of(2024, 3, 5), Map.of()))
+				.isEmpty();
+	}
+}
@@ -0,0 +1,33 @@
+package com.picura.employee.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HirePeriodTest {
+
+	@Test
+	void truncatesDatesToTheStartOfTheirPeriod() {
+		LocalDate sunday = LocalDate.of(2024, 3, 10);
+
+		assertThat(HirePeriod.DAY.truncate(sunday)).isEqualTo(sunday);
+		assertThat(HirePeriod.WEEK.truncate(sunday)).isEqualTo(LocalDate.of(2024, 3, 4));
+		assertThat(HirePeriod.WEEK.truncate(LocalDate.of(2024, 3, 4))).isEqualTo(LocalDate.of(2024, 3, 4));
+		assertThat(HirePeriod.MONTH.truncate(sunday)).isEqualTo(LocalDate.of(2024, 3, 1));
+	}
+
+	@Test
+	void weeksCrossMonthAndYearBoundaries() {
+		assertThat(HirePeriod.WEEK.truncate(LocalDate.of(2025, 1, 1))).isEqualTo(LocalDate.of(2024, 12, 30));
+		assertThat(HirePeriod.WEEK.next(LocalDate.of(2024, 12, 30))).isEqualTo(LocalDate.of(2025, 1, 6));
+	}
+
+	@Test
+	void countsThePeriodsOverlappingARange() {
+		assertThat(HirePeriod.MONTH.bucketsBetween(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 3, 1))).isEqualTo(3);
+		assertThat(HirePeriod.WEEK.bucketsBetween(LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 11))).isEqualTo(2);
+		assertThat(HirePeriod.DAY.bucketsBetween(LocalDate.of(2024, 3, 11), LocalDate.of(2024, 3, 10))).isZero();
+	}
+}
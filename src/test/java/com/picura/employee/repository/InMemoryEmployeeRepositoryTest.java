@@ -0,0 +1,151 @@
+package com.picura.employee.repository;
+
+import com.picura.employee.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryEmployeeRepositoryTest {
+
+	private InMemoryEmployeeRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		repository = new InMemoryEmployeeRepository("");
+		repository.saveAll(List.of(
+				employee("1", "José Pérez", "Dev", 3000, LocalDate.of(2020, 1, 1)),
+				employee("2", "Ana López", "Dev", 5000, LocalDate.of(2022, 6, 1)),
+				employee("3", "Luis Gómez", "QA", 2000, LocalDate.of(2021, 3, 1)),
+				employee("4", "Marta Ruiz", "Dev", 4000, LocalDate.of(2023, 9, 1)),
+				employee("5", "Pedro Sanz", "QA", 2000, null))).blockLast();
+	}
+
+	@Test
+	void answersIndexedQueries() {
+		assertThat(ids(repository.findByPuesto("Dev").collectList().block())).containsExactly("2", "4", "1");
+		assertThat(ids(repository.findBySalarioBetween(2000, 3000).collectList().block())).containsExactly("3", "5", "1");
+		assertThat(ids(repository.findByFechaContratacionBetween(LocalDate.of(2021, 1, 1), LocalDate.of(2022, 12, 31))
+				.collectList().block())).containsExactly("3", "2");
+		assertThat(ids(repository.findTop5ByPuestoOrderBySalarioDesc("Dev", PageRequest.of(0, 2)).collectList().block()))
+				.containsExactly("2", "4");
+		assertThat(repository.findFirstByOrderBySalarioDesc().block().getId()).isEqualTo("2");
+		assertThat(ids(repository.findBySearchTokensAll(EmployeeSearchKeys.queryTokens("perez"), PageRequest.of(0, 10))
+				.collectList().block())).containsExactly("1");
+	}
+
+	@Test
+	void findsNamesStartingWithASearchKeyExactNameFirst() {
+		repository.saveAll(List.of(
+				employee("6", "Ana", "QA", 1000, null),
+				employee("7", "Anabel Díaz", "QA", 1000, null))).blockLast();
+
+		assertThat(ids(repository.findBySearchKeyStartingWith("ana", 10, EmployeeProjection.ALL).collectList().block()))
+				.containsExactly("6", "2", "7");
+		assertThat(ids(repository.findBySearchKeyStartingWith("ana", 1, EmployeeProjection.ALL).collectList().block()))
+				.containsExactly("6");
+	}
+
+	@Test
+	void pagesWithKeysetCursorsInBothDirections() {
+		Employee third = repository.findPageAfter(EmployeeSortField.SALARIO, Sort.Direction.ASC, null, 3).blockLast();
+		EmployeeCursor cursor = EmployeeCursor.after(third, EmployeeSortField.SALARIO, Sort.Direction.ASC);
+
+		assertThat(ids(repository.findPageAfter(EmployeeSortField.SALARIO, Sort.Direction.ASC, cursor, 3).collectList().block()))
+				.containsExactly("4", "2");
+		assertThat(ids(repository.findPageAfter(EmployeeSortField.SALARIO, Sort.Direction.DESC, cursor, 3).collectList().block()))
+				.containsExactly("5", "3");
+	}
+
+	@Test
+	void pagesPastNullSortValuesInTheirMongoPosition() {
+		Employee first = repository.findPageAfter(EmployeeSortField.FECHA_CONTRATACION, Sort.Direction.ASC, null, 1).blockLast();
+		EmployeeCursor afterNull = EmployeeCursor.decode(
+				EmployeeCursor.after(first, EmployeeSortField.FECHA_CONTRATACION, Sort.Direction.ASC).encode());
+		Employee oldest = repository.findById("1").block();
+		EmployeeCursor afterOldest = EmployeeCursor.decode(
+				EmployeeCursor.after(oldest, EmployeeSortField.FECHA_CONTRATACION, Sort.Direction.DESC).encode());
+
+		assertThat(first.getId()).isEqualTo("5");
+		assertThat(ids(repository.findPageAfter(EmployeeSortField.FECHA_CONTRATACION, Sort.Direction.ASC, afterNull, 2)
+				.collectList().block())).containsExactly("1", "3");
+		assertThat(ids(repository.findPageAfter(EmployeeSortField.FECHA_CONTRATACION, Sort.Direction.DESC, afterOldest, 2)
+				.collectList().block())).containsExactly("5");
+	}
+
+	@Test
+	void aggregatesSalariesPerPuesto() {
+		List<SalaryStatistics> statistics = repository.aggregateSalaryStatisticsByPuesto(List.of(0.9)).collectList().block();
+
+		assertThat(statistics).extracting(SalaryStatistics::getPuesto).containsExactly("Dev", "QA");
+		assertThat(statistics.get(0).getAverage()).isEqualTo(4000);
+		assertThat(statistics.get(0).getMedian()).isEqualTo(4000);
+		assertThat(statistics.get(0).getPercentiles()).containsExactly(5000.0);
+		assertThat(repository.aggregateSalaryHistogram(null, 3).map(SalaryBucket::getCount).collectList().block())
+				.containsExactly(2L, 1L, 2L);
+	}
+
+	@Test
+	void countsHiresPerPeriodIncludingEmptyOnes() {
+		List<HireBucket> hires = repository.aggregateHiresByPeriod(HirePeriod.MONTH,
+				LocalDate.of(2022, 5, 15), LocalDate.of(2022, 7, 31), null).collectList().block();
+
+		assertThat(hires).containsExactly(
+				new HireBucket(LocalDate.of(2022, 5, 1), 0),
+				new HireBucket(LocalDate.of(2022, 6, 1), 1),
+				new HireBucket(LocalDate.of(2022, 7, 1), 0));
+		assertThat(ids(repository.findHiredSince(LocalDate.of(2021, 1, 1), "Dev", EmployeeProjection.ALL, 10)
+				.collectList().block())).containsExactly("4", "2");
+	}
+
+	@Test
+	void appliesUpdatesAndDeletes() {
+		EmployeeUpdate promotion = EmployeeUpdate.builder().salarioIncrement(500.0).puesto("Dev").build();
+		Employee promoted = repository.updateAndGet("3", promotion, 0L).block();
+
+		assertThat(promoted.getSalario()).isEqualTo(2500);
+		assertThat(promoted.getVersion()).isEqualTo(1L);
+		assertThat(repository.updateAndGet("3", promotion, 0L).blockOptional()).isEmpty();
+		assertThat(repository.findVersionById("3").block()).isEqualTo(1L);
+		assertThat(ids(repository.findByPuesto("Dev").collectList().block())).containsExactly("2", "4", "1", "3");
+		assertThat(repository.removeById("3").block()).isEqualTo(1L);
+		assertThat(repository.removeById("3").block()).isZero();
+		assertThat(repository.count().block()).isEqualTo(4L);
+	}
+
+	@Test
+	void restoresTheRosterFromASnapshotFile(@TempDir Path directory) throws Exception {
+		String file = directory.resolve("employees.snapshot").toString();
+		InMemoryEmployeeRepository written = new InMemoryEmployeeRepository(file);
+		written.insert(repository.findAll()).blockLast();
+		written.flushSnapshot();
+
+		InMemoryEmployeeRepository restored = new InMemoryEmployeeRepository(file);
+		restored.loadSnapshot();
+
+		assertThat(restored.findAll().collectList().block())
+				.usingRecursiveFieldByFieldElementComparatorIgnoringFields("searchKey", "searchTokens")
+				.containsExactlyElementsOf(repository.findAll().collectList().block());
+	}
+
+	private static Employee employee(String id, String nombre, String puesto, double salario, LocalDate fechaContratacion) {
+		Employee employee = new Employee();
+		employee.setId(id);
+		employee.setNombre(nombre);
+		employee.setPuesto(puesto);
+		employee.setSalario(salario);
+		employee.setFechaContratacion(fechaContratacion);
+		return employee;
+	}
+
+	private static List<String> ids(List<Employee> employees) {
+		return employees.stream().map(Employee::getId).toList();
+	}
+}
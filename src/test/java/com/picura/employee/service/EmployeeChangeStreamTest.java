@@ -0,0 +1,111 @@
+package com.picura.employee.service;
+
+import com.picura.employee.config.CacheConfig;
+import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.entity.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Runs against a single-node replica set given by the changestream.mongo-uri system property, for example
+ * {@code mongodb://localhost:27017/?replicaSet=rs0}. Writes go straight to the collection, as another
+ * instance's would, and must reach the local caches and the salary index through the change stream.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "changestream.mongo-uri", matches = ".+")
+class EmployeeChangeStreamTest {
+
+	private static final String INSTANCE_ID = "change-stream-test";
+
+	@Autowired
+	private ReactiveMongoTemplate mongoTemplate;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private SalaryRankIndex salaryRankIndex;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@DynamicPropertySource
+	static void mongoProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.data.mongodb.uri", () -> System.getProperty("changestream.mongo-uri"));
+		registry.add("spring.data.mongodb.database", () -> "changestream_test");
+		registry.add("picura.change-stream.instance-id", () -> INSTANCE_ID);
+		registry.add("picura.change-stream.token-save-interval", () -> "200ms");
+	}
+
+	@BeforeEach
+	void awaitStream() {
+		// The stream opens asynchronously; keep writing until a change reaches the index through it
+		AtomicInteger salary = new AtomicInteger(1000);
+		await().atMost(Duration.ofSeconds(30)).ignoreExceptions().until(() -> {
+			write("warm-up", salary.incrementAndGet());
+			return salaryRankIndex.rankOf("warm-up").block().salary() == salary.get();
+		});
+		assertThat(meterRegistry.get("employee.changestream.active").gauge().value()).isEqualTo(1);
+	}
+
+	@AfterEach
+	void removeEmployees() {
+		mongoTemplate.remove(query(where("_id").in(List.of("warm-up", "1"))), Employee.class).block();
+	}
+
+	@Test
+	void writesFromAnotherInstanceEvictTheCacheAndUpdateTheSalaryIndex() {
+		Cache employeeCache = cacheManager.getCache(CacheConfig.EMPLOYEE_CACHE);
+		write("1", 3000);
+		employeeCache.put("1", EmployeeDTO.builder().id("1").salario(3000.0).build());
+
+		write("1", 5000);
+
+		await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+			assertThat(employeeCache.get("1")).isNull();
+			assertThat(salaryRankIndex.rankOf("1").block().salary()).isEqualTo(5000);
+		});
+
+		mongoTemplate.remove(query(where("_id").is("1")), Employee.class).block();
+
+		await().atMost(Duration.ofSeconds(10))
+				.untilAsserted(() -> assertThat(salaryRankIndex.rankOf("1").blockOptional()).isEmpty());
+	}
+
+	@Test
+	void savesTheResumeTokenOfTheLastEvent() {
+		await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(
+				mongoTemplate.findById(INSTANCE_ID, Document.class, EmployeeChangeStream.TOKENS_COLLECTION).block())
+				.isNotNull()
+				.containsKey("token"));
+	}
+
+	// Not save(), which would insert again since the test does not track versions
+	private void write(String id, double salario) {
+		mongoTemplate.upsert(query(where("_id").is(id)), new Update()
+				.set("nombre", "Empleado " + id)
+				.set("puesto", "Analista")
+				.set("salario", salario), Employee.class).block();
+	}
+}
@@ -0,0 +1,115 @@
+package com.picura.employee.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.picura.employee.dto.BulkResultDTO;
+import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.entity.Employee;
+import com.picura.employee.repository.EmployeeRepository;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.BulkOperationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "picura.bulk.batch-size=4")
+class EmployeeServiceBulkTest {
+
+	private static final Set<String> EXISTING = Set.of("b", "f");
+	private static final Set<String> DUPLICATES = Set.of("c", "e");
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@MockBean
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void resultsOfPartiallyFailedBatchesFollowTheInputOrder() {
+		when(employeeRepository.bulkUpsert(anyList())).thenAnswer(invocation -> write(invocation.getArgument(0)));
+
+		List<BulkResultDTO> results = employeeService.bulkUpsertEmployees(Flux.just(
+						employee(null, "Ana"), employee(null, null), employee("b", "Bruno"), employee("c", "Carla"),
+						employee(null, "Diego"), employee("e", "Elena"), employee("f", "Fabio")))
+				.collectList().block();
+
+		assertThat(results)
+				.extracting(BulkResultDTO::getIndex, BulkResultDTO::getStatus, BulkResultDTO::getMessage)
+				.containsExactly(
+						tuple(0L, BulkResultDTO.Status.CREATED, null),
+						tuple(1L, BulkResultDTO.Status.INVALID, "El nombre es obligatorio"),
+						tuple(2L, BulkResultDTO.Status.UPDATED, null),
+						tuple(3L, BulkResultDTO.Status.FAILED, "E11000 duplicate key c"),
+						tuple(4L, BulkResultDTO.Status.CREATED, null),
+						tuple(5L, BulkResultDTO.Status.FAILED, "E11000 duplicate key e"),
+						tuple(6L, BulkResultDTO.Status.UPDATED, null));
+		assertThat(results).extracting(BulkResultDTO::getId).element(0).isNotNull();
+		assertThat(results).extracting(BulkResultDTO::getId).containsSubsequence("b", "c", "e", "f");
+	}
+
+	@Test
+	void aFailedBatchFailsOnlyItsWrittenRecords() {
+		when(employeeRepository.bulkUpsert(anyList())).thenReturn(Mono.error(new IllegalStateException("Connection reset")));
+
+		List<BulkResultDTO> results = employeeService.bulkUpsertEmployees(Flux.just(
+						employee("a", "Ana"), employee("b", null), employee("c", "Carla")))
+				.collectList().block();
+
+		assertThat(results)
+				.extracting(BulkResultDTO::getIndex, BulkResultDTO::getId, BulkResultDTO::getStatus)
+				.containsExactly(
+						tuple(0L, "a", BulkResultDTO.Status.FAILED),
+						tuple(1L, "b", BulkResultDTO.Status.INVALID),
+						tuple(2L, "c", BulkResultDTO.Status.FAILED));
+	}
+
+	// Like an unordered bulk write: duplicates fail, the other records are upserted or update existing employees
+	private Mono<BulkWriteResult> write(List<Employee> employees) {
+		List<BulkWriteUpsert> upserts = new ArrayList<>();
+		List<BulkWriteError> errors = new ArrayList<>();
+		int matched = 0;
+		for (int i = 0; i < employees.size(); i++) {
+			String id = employees.get(i).getId();
+			if (DUPLICATES.contains(id)) {
+				errors.add(new BulkWriteError(11000, "E11000 duplicate key " + id, new BsonDocument(), i));
+			} else if (EXISTING.contains(id)) {
+				matched++;
+			} else {
+				upserts.add(new BulkWriteUpsert(i, new BsonString(id)));
+			}
+		}
+		BulkWriteResult result = BulkWriteResult.acknowledged(0, matched, 0, matched, upserts, List.of());
+		if (errors.isEmpty()) {
+			return Mono.just(result);
+		}
+		return Mono.error(new BulkOperationException("Bulk write failed",
+				new MongoBulkWriteException(result, errors, null, new ServerAddress(), Set.of())));
+	}
+
+	private EmployeeDTO employee(String id, String nombre) {
+		return EmployeeDTO.builder()
+				.id(id)
+				.nombre(nombre)
+				.puesto("Analista")
+				.salario(42000.0)
+				.fechaContratacion(LocalDate.of(2023, 1, 15))
+				.build();
+	}
+}
@@ -0,0 +1,77 @@
+package com.picura.employee.service;
+
+import com.picura.employee.entity.Employee;
+import com.picura.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class EmployeeServiceCacheTest {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@MockBean
+	private EmployeeRepository employeeRepository;
+
+	@BeforeEach
+	void clearCaches() {
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+	}
+
+	@Test
+	void getEmployeeByIdCachesResolvedValue() {
+		when(employeeRepository.findAllById(List.of("1"))).thenReturn(Flux.just(employee("1")));
+
+		StepVerifier.create(employeeService.getEmployeeById("1")).expectNextCount(1).verifyComplete();
+		StepVerifier.create(employeeService.getEmployeeById("1")).expectNextCount(1).verifyComplete();
+
+		verify(employeeRepository, times(1)).findAllById(List.of("1"));
+	}
+
+	@Test
+	void deleteEvictsOnlyTheChangedEmployee() {
+		when(employeeRepository.findAllById(anyIterable()))
+				.thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<String>>getArgument(0)).map(this::employee));
+		when(employeeRepository.removeById(anyString())).thenReturn(Mono.just(1L));
+
+		StepVerifier.create(employeeService.getEmployeeById("1")).expectNextCount(1).verifyComplete();
+		StepVerifier.create(employeeService.getEmployeeById("2")).expectNextCount(1).verifyComplete();
+		StepVerifier.create(employeeService.deleteEmployee("1")).verifyComplete();
+		StepVerifier.create(employeeService.getEmployeeById("1")).expectNextCount(1).verifyComplete();
+		StepVerifier.create(employeeService.getEmployeeById("2")).expectNextCount(1).verifyComplete();
+
+		verify(employeeRepository, times(2)).findAllById(eq(List.of("1")));
+		verify(employeeRepository, times(1)).findAllById(eq(List.of("2")));
+	}
+
+	private Employee employee(String id) {
+		Employee employee = new Employee();
+		employee.setId(id);
+		employee.setNombre("Juan Pérez");
+		employee.setPuesto("Desarrollador Senior");
+		employee.setSalario(50000);
+		employee.setFechaContratacion(LocalDate.of(2023, 1, 15));
+		return employee;
+	}
+}
@@ -0,0 +1,56 @@
+package com.picura.employee.service;
+
+import com.picura.employee.dto.EmployeeDTO;
+import com.picura.employee.entity.Employee;
+import com.picura.employee.repository.EmployeeField;
+import com.picura.employee.repository.EmployeeProjection;
+import com.picura.employee.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class EmployeeServiceSearchTest {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@MockBean
+	private EmployeeRepository employeeRepository;
+
+	@Test
+	void sparseSearchesReturnEmployeesFoundByBothCandidateQueriesOnce() {
+		// Like a MongoDB projection, a read without the id leaves the entity with a freshly generated one
+		when(employeeRepository.findBySearchKeyStartingWith(anyString(), anyInt(), any()))
+				.thenAnswer(invocation -> read(invocation.getArgument(2), "Juan Pérez", "Juana Ruiz"));
+		when(employeeRepository.findBySearchTokensAll(anyList(), any(), any()))
+				.thenAnswer(invocation -> read(invocation.getArgument(2), "Juan Pérez", "Juana Ruiz"));
+
+		List<EmployeeDTO> results = employeeService.searchEmployees("juan", 10, EmployeeProjection.parse("nombre"))
+				.collectList().block();
+
+		assertThat(results).extracting(EmployeeDTO::getNombre).containsExactly("Juan Pérez", "Juana Ruiz");
+		assertThat(results).extracting(EmployeeDTO::getId).containsOnlyNulls();
+	}
+
+	private Flux<Employee> read(EmployeeProjection projection, String... nombres) {
+		return Flux.range(0, nombres.length).map(i -> {
+			Employee employee = new Employee();
+			employee.setId(projection.includes(EmployeeField.ID) ? String.valueOf(i + 1) : UUID.randomUUID().toString());
+			employee.setNombre(nombres[i]);
+			return employee;
+		});
+	}
+}
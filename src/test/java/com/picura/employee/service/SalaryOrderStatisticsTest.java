@@ -0,0 +1,61 @@
+package com.picura.employee.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalaryOrderStatisticsTest {
+
+	@Test
+	void matchesABruteForceModelUnderRandomWrites() {
+		Random random = new Random(42);
+		SalaryOrderStatistics statistics = new SalaryOrderStatistics();
+		Map<String, Double> model = new HashMap<>();
+
+		for (int step = 0; step < 20_000; step++) {
+			String id = "e" + random.nextInt(500);
+			double salary = 1000 * random.nextInt(100);
+			int operation = random.nextInt(10);
+			if (operation < 5) {
+				Double previous = model.put(id, salary);
+				if (previous != null) {
+					assertThat(statistics.remove(previous, id)).isTrue();
+				}
+				statistics.insert(salary, id);
+			} else if (operation < 7) {
+				Double previous = model.remove(id);
+				assertThat(previous != null && statistics.remove(previous, id)).isEqualTo(previous != null);
+			} else {
+				assertThat(statistics.countBelow(salary)).isEqualTo((int) model.values().stream().filter(s -> s < salary).count());
+				assertThat(statistics.countAtMost(salary)).isEqualTo((int) model.values().stream().filter(s -> s <= salary).count());
+				int limit = random.nextInt(30);
+				assertThat(statistics.highest(limit)).extracting(SalaryOrderStatistics.Entry::id)
+						.containsExactlyElementsOf(highest(model, limit));
+			}
+			assertThat(statistics.size()).isEqualTo(model.size());
+		}
+	}
+
+	@Test
+	void removingAnAbsentEntryLeavesTheIndexUnchanged() {
+		SalaryOrderStatistics statistics = new SalaryOrderStatistics();
+		statistics.insert(50000, "a");
+
+		assertThat(statistics.remove(50000, "b")).isFalse();
+		assertThat(statistics.remove(40000, "a")).isFalse();
+		assertThat(statistics.size()).isEqualTo(1);
+		assertThat(statistics.highest(5)).containsExactly(new SalaryOrderStatistics.Entry("a", 50000));
+	}
+
+	private List<String> highest(Map<String, Double> model, int limit) {
+		List<Map.Entry<String, Double>> entries = new ArrayList<>(model.entrySet());
+		entries.sort(Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()).reversed());
+		return entries.stream().limit(limit).map(Map.Entry::getKey).toList();
+	}
+}
@@ -0,0 +1,70 @@
+package com.picura.employee.service;
+
+import com.picura.employee.entity.Employee;
+import com.picura.employee.exception.IndexNotReadyException;
+import com.picura.employee.repository.EmployeeProjection;
+import com.picura.employee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SalaryRankIndexTest {
+
+	private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+	private final Sinks.Many<Employee> stored = Sinks.many().unicast().onBackpressureBuffer();
+	private final SalaryRankIndex index = new SalaryRankIndex(employeeRepository, new SimpleMeterRegistry(), 100);
+
+	@Test
+	void queriesFailUntilLoadedAndWritesDuringTheLoadWin() {
+		when(employeeRepository.streamAll(anyInt(), any(EmployeeProjection.class))).thenReturn(stored.asFlux());
+		index.load();
+
+		StepVerifier.create(index.top(3)).expectError(IndexNotReadyException.class).verify();
+
+		stored.tryEmitNext(employee("a", 30000));
+		stored.tryEmitNext(employee("b", 50000));
+		stored.tryEmitNext(employee("c", 50000));
+		index.put(employee("a", 70000));
+		index.remove("c");
+		stored.tryEmitComplete();
+
+		StepVerifier.create(index.top(3).map(ranks -> ranks.stream().map(SalaryRankIndex.RankedSalary::id).toList()))
+				.expectNext(List.of("a", "b"))
+				.verifyComplete();
+	}
+
+	@Test
+	void equalSalariesShareRankAndPercentile() {
+		when(employeeRepository.streamAll(anyInt(), any(EmployeeProjection.class))).thenReturn(Flux.just(
+				employee("a", 30000), employee("b", 50000), employee("c", 50000), employee("d", 90000)));
+		index.load();
+
+		StepVerifier.create(index.rankOf("b"))
+				.expectNext(new SalaryRankIndex.RankedSalary("b", 50000, 2, 50.0, 4))
+				.verifyComplete();
+		StepVerifier.create(index.rankOf("c").map(SalaryRankIndex.RankedSalary::rank)).expectNext(2).verifyComplete();
+		StepVerifier.create(index.rankOf("z")).verifyComplete();
+		StepVerifier.create(index.countBetween(30000, 50000))
+				.expectNext(new SalaryRankIndex.RangeCount(3, 4))
+				.verifyComplete();
+		StepVerifier.create(index.countBetween(60000, 40000))
+				.expectNext(new SalaryRankIndex.RangeCount(0, 4))
+				.verifyComplete();
+	}
+
+	private Employee employee(String id, double salario) {
+		Employee employee = new Employee();
+		employee.setId(id);
+		employee.setSalario(salario);
+		return employee;
+	}
+}